@@ -0,0 +1,65 @@
+package benchmark;
+
+import chess.ChessGame;
+import dataaccess.DAOFunctionsMemory;
+import model.AuthData;
+import model.GameData;
+import model.UserData;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The in-memory data access calls behind a websocket command, without MySQL.
+ */
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(1)
+public class DaoBenchmark {
+    private static final int GAMES = 100;
+
+    private DAOFunctionsMemory dao;
+    private AuthData auth;
+    private GameData game;
+    private int nextGame;
+
+    @Setup
+    public void setup() {
+        dao = new DAOFunctionsMemory();
+        dao.createUser(new UserData("bench", "password", "bench@mail"));
+        auth = dao.createAuth("bench");
+        for (int i = 0; i < GAMES; i++) {
+            dao.createGame(new GameData(0, "bench", null, "game" + i, new ChessGame()));
+        }
+        game = dao.getGame(1);
+    }
+
+    @Benchmark
+    public AuthData getAuth() {
+        return dao.getAuth(auth.authToken());
+    }
+
+    @Benchmark
+    public GameData getGame() {
+        nextGame = nextGame % GAMES + 1;
+        return dao.getGame(nextGame);
+    }
+
+    @Benchmark
+    public GameData[] listGames() {
+        return dao.listGames();
+    }
+
+    @Benchmark
+    public void updateGame() {
+        dao.updateGame(game);
+    }
+
+    @Benchmark
+    public AuthData createAndDeleteAuth() {
+        AuthData created = dao.createAuth("bench");
+        dao.deleteAuth(created.authToken());
+        return created;
+    }
+}
@@ -0,0 +1,106 @@
+package benchmark;
+
+import chess.ChessBoard;
+import chess.ChessGame;
+import chess.ChessMove;
+import chess.Fen;
+import chess.MoveGenerator;
+import chess.MoveList;
+import chess.Perft;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Move generation and game status checks, the per-move CPU cost on the server.
+ * <p>
+ * ChessGame caches valid moves and status per position, so the plain
+ * benchmarks clear that cache before each query to keep measuring generation;
+ * the {@code Cached} ones repeat the query on a warm cache.
+ */
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(1)
+public class EngineBenchmark {
+    @Param({"start", "middlegame", "endgame", "mated"})
+    public String position;
+
+    private ChessGame game;
+    private ChessBoard board;
+    private final MoveList moves = new MoveList();
+
+    @Setup
+    public void setup() {
+        game = Fen.parse(Positions.BY_NAME.get(position));
+        board = game.getBoard();
+    }
+
+    /**
+     * Setting the same board again empties the move cache; done inline
+     * because a per-invocation setup would cost more than the queries themselves
+     */
+    private void clearMoveCache() {
+        game.setBoard(board);
+    }
+
+    @Benchmark
+    public Collection<ChessMove> validMoves() {
+        clearMoveCache();
+        return game.allValidMoves(game.getTeamTurn());
+    }
+
+    @Benchmark
+    public int validMovesPacked() {
+        clearMoveCache();
+        moves.clear();
+        game.validMoves(game.getTeamTurn(), moves);
+        return moves.size();
+    }
+
+    @Benchmark
+    public boolean isInCheckmate() {
+        clearMoveCache();
+        return game.isInCheckmate(game.getTeamTurn());
+    }
+
+    @Benchmark
+    public boolean isInStalemate() {
+        clearMoveCache();
+        return game.isInStalemate(game.getTeamTurn());
+    }
+
+    @Benchmark
+    public ChessGame.GameStatus evaluateStatus() {
+        clearMoveCache();
+        return game.evaluateStatus(game.getTeamTurn());
+    }
+
+    @Benchmark
+    public boolean hasLegalMove() {
+        return MoveGenerator.hasLegalMove(board, game.getTeamTurn());
+    }
+
+    @Benchmark
+    public int validMovesPackedCached() {
+        moves.clear();
+        game.validMoves(game.getTeamTurn(), moves);
+        return moves.size();
+    }
+
+    @Benchmark
+    public ChessGame.GameStatus evaluateStatusCached() {
+        return game.evaluateStatus(game.getTeamTurn());
+    }
+
+    @Benchmark
+    public ChessBoard cloneBoard() {
+        return game.getBoard().clone();
+    }
+
+    @Benchmark
+    public long perftDepth2() {
+        return new Perft(game).count(2);
+    }
+}
@@ -0,0 +1,53 @@
+package benchmark;
+
+import chess.ChessBoard;
+import chess.ChessGame;
+import chess.Fen;
+import chess.MoveGenerator;
+import chess.MoveList;
+import chess.engine.StaticExchange;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Static exchange evaluation of every capture in a position, as the search
+ * runs it to skip losing captures.
+ */
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(1)
+public class ExchangeBenchmark {
+    @Param({"middlegame", "endgame"})
+    public String position;
+
+    private ChessBoard board;
+    private ChessGame.TeamColor turn;
+    private final MoveList captures = new MoveList();
+    private final MoveList generated = new MoveList(64);
+
+    @Setup
+    public void setup() {
+        ChessGame game = Fen.parse(Positions.BY_NAME.get(position));
+        board = game.getBoard();
+        turn = game.getTeamTurn();
+        MoveGenerator.legalCaptures(board, turn, captures);
+    }
+
+    @Benchmark
+    public int staticExchange() {
+        int total = 0;
+        for (int i = 0; i < captures.size(); i++) {
+            total += StaticExchange.evaluate(board, captures.get(i));
+        }
+        return total;
+    }
+
+    @Benchmark
+    public int legalCaptures() {
+        generated.clear();
+        MoveGenerator.legalCaptures(board, turn, generated);
+        return generated.size();
+    }
+}
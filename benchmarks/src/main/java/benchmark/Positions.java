@@ -0,0 +1,18 @@
+package benchmark;
+
+import java.util.Map;
+
+/**
+ * FEN positions shared by the benchmarks, chosen to exercise different parts
+ * of the move generator.
+ */
+final class Positions {
+    static final Map<String, String> BY_NAME = Map.of(
+            "start", "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w - - 0 1",
+            "middlegame", "r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w - - 0 1",
+            "endgame", "8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1",
+            "mated", "rnb1kbnr/pppp1ppp/8/4p3/6Pq/5P2/PPPPP2P/RNBQKBNR w - - 1 3");
+
+    private Positions() {
+    }
+}
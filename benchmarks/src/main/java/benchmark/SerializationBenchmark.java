@@ -0,0 +1,73 @@
+package benchmark;
+
+import chess.ChessGame;
+import chess.Fen;
+import chess.GameCodec;
+import com.google.gson.Gson;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import websocket.messages.LoadGameMessage;
+import websocket.messages.NotificationMessage;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Costs of storing a game, as Gson JSON and in the binary form the database
+ * now uses, and of broadcasting it the way WebSocketHandler does: one
+ * LOAD_GAME and one NOTIFICATION serialized per peer in the room.
+ */
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(1)
+public class SerializationBenchmark {
+    @Param({"2", "8"})
+    public int peers;
+
+    private final Gson json = new Gson();
+    private ChessGame game;
+    private String gameJson;
+    private byte[] gameBytes;
+
+    @Setup
+    public void setup() {
+        game = Fen.parse(Positions.BY_NAME.get("middlegame"));
+        gameJson = json.toJson(game);
+        gameBytes = GameCodec.encode(game);
+    }
+
+    @Benchmark
+    public String gameToJson() {
+        return json.toJson(game);
+    }
+
+    @Benchmark
+    public ChessGame gameFromJson() {
+        return json.fromJson(gameJson, ChessGame.class);
+    }
+
+    @Benchmark
+    public ChessGame gameRoundTrip() {
+        return json.fromJson(json.toJson(game), ChessGame.class);
+    }
+
+    @Benchmark
+    public byte[] gameToBinary() {
+        return GameCodec.encode(game);
+    }
+
+    @Benchmark
+    public ChessGame gameFromBinary() {
+        return GameCodec.decode(gameBytes);
+    }
+
+    @Benchmark
+    public void broadcastMove(Blackhole sink) {
+        for (int peer = 0; peer < peers; peer++) {
+            sink.consume(json.toJson(new LoadGameMessage(game)));
+        }
+        for (int peer = 0; peer < peers; peer++) {
+            sink.consume(json.toJson(new NotificationMessage("player moved e2-e4")));
+        }
+    }
+}
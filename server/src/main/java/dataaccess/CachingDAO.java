@@ -0,0 +1,198 @@
+package dataaccess;
+
+import chess.ChessGame;
+import chess.ChessMove;
+import model.AuthData;
+import model.GameData;
+import model.UserData;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps recently used games in memory in front of another DAOInstance.
+ * <p>
+ * Game reads are served from the cache while an entry is younger than its
+ * time to live. Writes go to the underlying store first and then update the
+ * cached entry. The least recently used game is dropped once the cache is
+ * full. Callers get their own copy of each game, since they make moves on
+ * it. Users and auth tokens pass straight through.
+ * <p>
+ * Another server writing the same database is only seen once the entry
+ * expires or is invalidated.
+ */
+public class CachingDAO implements DAOInstance {
+    public static final int DEFAULT_MAX_GAMES = 256;
+    public static final long DEFAULT_TTL_MILLIS = 300_000;
+
+    private static final class Entry {
+        final GameData game;
+        final long loadedAt;
+
+        Entry(GameData game, long loadedAt) {
+            this.game = game;
+            this.loadedAt = loadedAt;
+        }
+    }
+
+    private final DAOInstance store;
+    private final long ttlNanos;
+    private final Map<Integer, Entry> games;
+    // bumped by every game write, so a read that overlapped one does not cache what it loaded
+    private long writes;
+    private long hits;
+    private long misses;
+
+    public CachingDAO(DAOInstance store) {
+        this(store, DEFAULT_MAX_GAMES, DEFAULT_TTL_MILLIS);
+    }
+
+    /**
+     * @param store     where reads that miss go and every write ends up
+     * @param maxGames  the most games held at once
+     * @param ttlMillis how long a game may be served before it is read again
+     */
+    public CachingDAO(DAOInstance store, int maxGames, long ttlMillis) {
+        this.store = store;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+        this.games = new LinkedHashMap<>(maxGames * 2, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, Entry> eldest) {
+                return size() > maxGames;
+            }
+        };
+    }
+
+    @Override
+    public UserData getUser(String username) throws DataAccessException {
+        return store.getUser(username);
+    }
+
+    @Override
+    public void createUser(UserData user) throws DataAccessException {
+        store.createUser(user);
+    }
+
+    @Override
+    public AuthData createAuth(String username) throws DataAccessException {
+        return store.createAuth(username);
+    }
+
+    @Override
+    public AuthData getAuth(String token) throws DataAccessException {
+        return store.getAuth(token);
+    }
+
+    @Override
+    public void deleteAuth(String token) throws DataAccessException {
+        store.deleteAuth(token);
+    }
+
+    @Override
+    public void clear() throws DataAccessException {
+        try {
+            store.clear();
+        } finally {
+            invalidateAll();
+        }
+    }
+
+    @Override
+    public int createGame(GameData game) throws DataAccessException {
+        return store.createGame(game);
+    }
+
+    @Override
+    public GameData getGame(int gameID) throws DataAccessException {
+        long writesBefore;
+        synchronized (this) {
+            Entry entry = games.get(gameID);
+            if (entry != null && System.nanoTime() - entry.loadedAt < ttlNanos) {
+                hits++;
+                return copy(entry.game);
+            }
+            misses++;
+            writesBefore = writes;
+        }
+        GameData loaded = store.getGame(gameID);
+        if (loaded != null && loaded.game() != null) {
+            synchronized (this) {
+                if (writes == writesBefore) {
+                    games.put(gameID, new Entry(copy(loaded), System.nanoTime()));
+                }
+            }
+        }
+        return loaded;
+    }
+
+    @Override
+    public GameData[] listGames() throws DataAccessException {
+        return store.listGames();
+    }
+
+    @Override
+    public void updateGame(GameData game) throws DataAccessException {
+        try {
+            store.updateGame(game);
+        } catch (DataAccessException | RuntimeException e) {
+            invalidate(game.gameID());
+            throw e;
+        }
+        if (game.game() == null) {
+            invalidate(game.gameID());
+        } else {
+            put(copy(game));
+        }
+    }
+
+    @Override
+    public void recordMove(int gameID, ChessMove move, ChessGame after) throws DataAccessException {
+        try {
+            store.recordMove(gameID, move, after);
+        } catch (DataAccessException | RuntimeException e) {
+            invalidate(gameID);
+            throw e;
+        }
+        synchronized (this) {
+            writes++;
+            Entry entry = games.get(gameID);
+            if (entry != null) {
+                GameData cached = entry.game;
+                games.put(gameID, new Entry(new GameData(gameID, cached.whiteUsername(), cached.blackUsername(),
+                        cached.gameName(), after.copy()), System.nanoTime()));
+            }
+        }
+    }
+
+    /**
+     * Drops one game, so its next read goes to the underlying store
+     */
+    public synchronized void invalidate(int gameID) {
+        writes++;
+        games.remove(gameID);
+    }
+
+    public synchronized void invalidateAll() {
+        writes++;
+        games.clear();
+    }
+
+    /**
+     * @return the fraction of game reads served from memory
+     */
+    public synchronized double hitRate() {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+
+    private synchronized void put(GameData game) {
+        writes++;
+        games.put(game.gameID(), new Entry(game, System.nanoTime()));
+    }
+
+    private static GameData copy(GameData game) {
+        return new GameData(game.gameID(), game.whiteUsername(), game.blackUsername(), game.gameName(),
+                game.game().copy());
+    }
+}
@@ -0,0 +1,382 @@
+package dataaccess;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A bounded pool of database connections.
+ * <p>
+ * {@link #borrow()} hands out a wrapper whose {@code close()} returns the
+ * connection to the pool instead of closing it, so callers keep using
+ * try-with-resources exactly as with a fresh connection. Idle connections
+ * are checked with {@link Connection#isValid(int)} before they are handed
+ * out. They are closed once they pass the idle timeout or the maximum
+ * lifetime. When every connection is in use, borrowers wait up to the borrow
+ * timeout.
+ */
+class ConnectionPool implements AutoCloseable {
+    /**
+     * Opens a new physical connection
+     */
+    @FunctionalInterface
+    interface ConnectionFactory {
+        Connection open() throws SQLException;
+    }
+
+    /**
+     * @param maxSize                   the most connections open at once
+     * @param borrowTimeoutMillis       how long a borrower waits for a free connection
+     * @param idleTimeoutMillis         how long a connection may sit unused before it is closed
+     * @param maxLifetimeMillis         how long a connection is kept before it is replaced
+     * @param validationTimeoutSeconds  how long the validity check on borrow may take
+     */
+    record Settings(int maxSize, long borrowTimeoutMillis, long idleTimeoutMillis, long maxLifetimeMillis,
+                    int validationTimeoutSeconds) {
+        static final Settings DEFAULTS = new Settings(10, 5_000, 600_000, 1_800_000, 2);
+    }
+
+    /**
+     * A point-in-time view of the pool's counters
+     *
+     * @param open               connections currently open, idle or in use
+     * @param idle               connections waiting in the pool
+     * @param created            connections opened since startup
+     * @param borrowed           successful borrows since startup
+     * @param validationFailures idle connections discarded because they failed validation
+     * @param evicted            connections closed for idling or living too long
+     * @param timeouts           borrows that gave up waiting for a free connection
+     * @param totalWaitNanos     time borrowers spent waiting for a free connection
+     * @param maxWaitNanos       the longest single wait
+     */
+    record Metrics(int open, int idle, long created, long borrowed, long validationFailures, long evicted,
+                   long timeouts, long totalWaitNanos, long maxWaitNanos) {
+        public double averageWaitMillis() {
+            return borrowed == 0 ? 0 : totalWaitNanos / 1_000_000.0 / borrowed;
+        }
+    }
+
+    private static final class Pooled {
+        final Connection connection;
+        final long createdAt;
+        long returnedAt;
+        boolean broken;
+
+        Pooled(Connection connection, long now) {
+            this.connection = connection;
+            this.createdAt = now;
+            this.returnedAt = now;
+        }
+    }
+
+    private final ConnectionFactory factory;
+    private final Settings settings;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition available = lock.newCondition();
+    // most recently returned first, so the rest can age out
+    private final Deque<Pooled> idle = new ArrayDeque<>();
+    private final ScheduledExecutorService evictor;
+    private int open;
+    private boolean closed;
+    private long created;
+    private long borrowed;
+    private long validationFailures;
+    private long evicted;
+    private long timeouts;
+    private long totalWaitNanos;
+    private long maxWaitNanos;
+
+    ConnectionPool(ConnectionFactory factory, Settings settings) {
+        this.factory = factory;
+        this.settings = settings;
+        long period = Math.max(settings.idleTimeoutMillis() / 2, 1_000);
+        evictor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "connection-pool-evictor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        evictor.scheduleWithFixedDelay(this::evictExpired, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Takes a connection from the pool, opening one if the pool is below its
+     * maximum size, or waiting for one to be returned if it is not
+     *
+     * @return a connection whose close() returns it to the pool
+     * @throws SQLException if no connection could be opened or none came free in time
+     */
+    Connection borrow() throws SQLException {
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(settings.borrowTimeoutMillis());
+        while (true) {
+            Pooled candidate = null;
+            boolean openNew = false;
+            lock.lock();
+            try {
+                while (!closed && idle.isEmpty() && open >= settings.maxSize()) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        timeouts++;
+                        throw new SQLException("Timed out after " + settings.borrowTimeoutMillis()
+                                + " ms waiting for a database connection");
+                    }
+                    available.awaitNanos(remaining);
+                }
+                if (closed) {
+                    throw new SQLException("Connection pool is closed");
+                }
+                if (!idle.isEmpty()) {
+                    candidate = idle.pollFirst();
+                } else {
+                    open++;
+                    openNew = true;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SQLException("Interrupted waiting for a database connection", e);
+            } finally {
+                lock.unlock();
+            }
+
+            if (openNew) {
+                candidate = open(start);
+            } else if (!usable(candidate)) {
+                continue;
+            }
+            recordBorrow(start);
+            return wrap(candidate);
+        }
+    }
+
+    Metrics metrics() {
+        lock.lock();
+        try {
+            return new Metrics(open, idle.size(), created, borrowed, validationFailures, evicted, timeouts,
+                    totalWaitNanos, maxWaitNanos);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Closes idle connections and stops handing out new ones; connections in
+     * use are closed as they are returned
+     */
+    @Override
+    public void close() {
+        evictor.shutdownNow();
+        lock.lock();
+        try {
+            closed = true;
+            for (Pooled pooled : idle) {
+                closeQuietly(pooled);
+                open--;
+            }
+            idle.clear();
+            available.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Closes idle connections past the idle timeout or the maximum lifetime
+     */
+    void evictExpired() {
+        long now = System.nanoTime();
+        lock.lock();
+        try {
+            for (Iterator<Pooled> it = idle.iterator(); it.hasNext(); ) {
+                Pooled pooled = it.next();
+                if (expired(pooled, now)) {
+                    it.remove();
+                    closeQuietly(pooled);
+                    open--;
+                    evicted++;
+                    available.signal();
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Pooled open(long start) throws SQLException {
+        try {
+            Connection connection = factory.open();
+            lock.lock();
+            try {
+                created++;
+            } finally {
+                lock.unlock();
+            }
+            return new Pooled(connection, System.nanoTime());
+        } catch (SQLException | RuntimeException e) {
+            release();
+            throw e;
+        }
+    }
+
+    /**
+     * Checks an idle connection before handing it out, closing it if it has
+     * expired or no longer answers
+     */
+    private boolean usable(Pooled pooled) {
+        boolean expired = expired(pooled, System.nanoTime());
+        boolean valid = false;
+        if (!expired) {
+            try {
+                valid = pooled.connection.isValid(settings.validationTimeoutSeconds());
+            } catch (SQLException e) {
+                valid = false;
+            }
+        }
+        if (expired || !valid) {
+            closeQuietly(pooled);
+            lock.lock();
+            try {
+                if (expired) {
+                    evicted++;
+                } else {
+                    validationFailures++;
+                }
+            } finally {
+                lock.unlock();
+            }
+            release();
+            return false;
+        }
+        return true;
+    }
+
+    private boolean expired(Pooled pooled, long now) {
+        return now - pooled.createdAt >= TimeUnit.MILLISECONDS.toNanos(settings.maxLifetimeMillis())
+                || now - pooled.returnedAt >= TimeUnit.MILLISECONDS.toNanos(settings.idleTimeoutMillis());
+    }
+
+    private void recordBorrow(long start) {
+        long waited = System.nanoTime() - start;
+        lock.lock();
+        try {
+            borrowed++;
+            totalWaitNanos += waited;
+            maxWaitNanos = Math.max(maxWaitNanos, waited);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Puts a connection back after its borrower closes it, or closes it for
+     * good if the pool is shut down or the connection is broken
+     */
+    private void giveBack(Pooled pooled) {
+        boolean keep = !pooled.broken;
+        if (keep) {
+            try {
+                if (pooled.connection.isClosed()) {
+                    keep = false;
+                } else if (!pooled.connection.getAutoCommit()) {
+                    pooled.connection.rollback();
+                    pooled.connection.setAutoCommit(true);
+                }
+            } catch (SQLException e) {
+                keep = false;
+            }
+        }
+        lock.lock();
+        try {
+            if (keep && !closed) {
+                pooled.returnedAt = System.nanoTime();
+                idle.addFirst(pooled);
+                available.signal();
+                return;
+            }
+        } finally {
+            lock.unlock();
+        }
+        closeQuietly(pooled);
+        release();
+    }
+
+    /**
+     * Frees the slot of a connection that was closed rather than returned
+     */
+    private void release() {
+        lock.lock();
+        try {
+            open--;
+            available.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static void closeQuietly(Pooled pooled) {
+        try {
+            pooled.connection.close();
+        } catch (SQLException ignored) {
+            // the connection is being thrown away either way
+        }
+    }
+
+    private Connection wrap(Pooled pooled) {
+        InvocationHandler handler = new InvocationHandler() {
+            private boolean returned;
+
+            @Override
+            public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                switch (method.getName()) {
+                    case "close" -> {
+                        if (!returned) {
+                            returned = true;
+                            giveBack(pooled);
+                        }
+                        return null;
+                    }
+                    case "isClosed" -> {
+                        return returned || pooled.connection.isClosed();
+                    }
+                    case "equals" -> {
+                        return proxy == args[0];
+                    }
+                    case "hashCode" -> {
+                        return System.identityHashCode(proxy);
+                    }
+                    case "toString" -> {
+                        return "Pooled" + pooled.connection;
+                    }
+                    default -> {
+                        if (returned) {
+                            throw new SQLException("Connection has already been returned to the pool");
+                        }
+                        try {
+                            return method.invoke(pooled.connection, args);
+                        } catch (InvocationTargetException e) {
+                            Throwable cause = e.getCause();
+                            // SQLState class 08 means the connection itself failed
+                            if (cause instanceof SQLException sql && sql.getSQLState() != null
+                                    && sql.getSQLState().startsWith("08")) {
+                                pooled.broken = true;
+                            }
+                            throw cause;
+                        }
+                    }
+                }
+            }
+        };
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[] {Connection.class}, handler);
+    }
+}
@@ -1,5 +1,7 @@
 package dataaccess;
 
+import chess.ChessGame;
+import chess.ChessMove;
 import model.GameData;
 import model.UserData;
 import model.AuthData;
@@ -8,7 +10,7 @@ public class DAO {
     private static final DAOInstance INSTANCE;
     static {
         try {
-            INSTANCE = new DAOFunctionsSQL();
+            INSTANCE = new CachingDAO(new DAOFunctionsSQL());
         } catch (DataAccessException e) {
             throw new ExceptionInInitializerError(e);
         }
@@ -56,4 +58,8 @@ public class DAO {
     }
     public static void updateGame(GameData g) throws DataAccessException {
         INSTANCE.updateGame(g); }
+
+    public static void recordMove(int id, ChessMove move, ChessGame after) throws DataAccessException {
+        INSTANCE.recordMove(id, move, after);
+    }
     }
@@ -1,5 +1,7 @@
 package dataaccess;
 
+import chess.ChessGame;
+import chess.ChessMove;
 import model.GameData;
 import model.UserData;
 import model.AuthData;
@@ -65,4 +67,13 @@ public class DAOFunctionsMemory implements DAOInstance {
     public synchronized void updateGame(GameData game) {
         gamesMap.put(game.gameID(), game);
     }
+
+    @Override
+    public synchronized void recordMove(int gameID, ChessMove move, ChessGame after) {
+        GameData game = gamesMap.get(gameID);
+        if (game != null) {
+            gamesMap.put(gameID, new GameData(gameID, game.whiteUsername(), game.blackUsername(),
+                    game.gameName(), after));
+        }
+    }
 }
@@ -1,6 +1,10 @@
 package dataaccess;
 
 import chess.ChessGame;
+import chess.ChessMove;
+import chess.GameCodec;
+import chess.InvalidMoveException;
+import chess.PackedMove;
 import com.google.gson.Gson;
 import model.AuthData;
 import model.GameData;
@@ -12,40 +16,19 @@ import java.util.*;
 
 public class DAOFunctionsSQL implements DAOInstance {
     private static final Gson SERIALIZER = new Gson();
+    /**
+     * How many plies pass between full snapshots of a game; loading replays
+     * at most this many logged moves on top of the latest snapshot
+     */
+    static final int SNAPSHOT_INTERVAL = 20;
 
+    /**
+     * Creates the database if needed and migrates it to the current schema,
+     * keeping any users, sessions and games already stored
+     */
     public DAOFunctionsSQL() throws DataAccessException {
         DatabaseManager.createDatabase();
-        try (var conn = DatabaseManager.getConnection();
-             var statement = conn.createStatement()) {
-            statement.executeUpdate("DROP TABLE IF EXISTS Auth");
-            statement.executeUpdate("DROP TABLE IF EXISTS Game");
-            statement.executeUpdate("DROP TABLE IF EXISTS User");
-            statement.executeUpdate("""
-                CREATE TABLE IF NOT EXISTS User (
-                  username VARCHAR(50) PRIMARY KEY,
-                  password CHAR(60) NOT NULL,
-                  email VARCHAR(256)
-                )
-            """);
-            statement.executeUpdate("""
-                CREATE TABLE IF NOT EXISTS Auth (
-                  authToken CHAR(36) PRIMARY KEY,
-                  username VARCHAR(50) NOT NULL,
-                  created TIMESTAMP DEFAULT CURRENT_TIMESTAMP
-                )
-            """);
-            statement.executeUpdate("""
-                CREATE TABLE IF NOT EXISTS Game (
-                  gameID INT AUTO_INCREMENT PRIMARY KEY,
-                  whiteUsername VARCHAR(50),
-                  blackUsername VARCHAR(50),
-                  gameName VARCHAR(256) NOT NULL,
-                  chessGame JSON NOT NULL
-                )
-            """);
-        } catch (SQLException exception) {
-            throw new DataAccessException("schema failed", exception);
-        }
+        Migrations.migrate();
     }
 
     private int update(String sql, Object... p) throws DataAccessException {
@@ -143,15 +126,19 @@ public class DAOFunctionsSQL implements DAOInstance {
     public int createGame(GameData template) throws DataAccessException {
         ChessGame game = template.game() != null ? template.game() : new ChessGame();
         int id = update("""
-                INSERT INTO Game (whiteUsername,blackUsername,gameName,chessGame)
+                INSERT INTO Game (whiteUsername,blackUsername,gameName,chessGameBinary)
                 VALUES (?,?,?,?)""",
                 template.whiteUsername(),
                 template.blackUsername(),
                 template.gameName(),
-                SERIALIZER.toJson(game));
+                GameCodec.encode(game));
         return id;
     }
 
+    /**
+     * Loads the latest snapshot of the game and replays the moves logged
+     * since it was taken
+     */
     @Override
     public GameData getGame(int id) throws DataAccessException {
         var sql = "SELECT * FROM Game WHERE gameID=?";
@@ -160,7 +147,12 @@ public class DAOFunctionsSQL implements DAOInstance {
             ps.setInt(1, id);
             try (var rs = ps.executeQuery()) {
                 if (rs.next()) {
-                    ChessGame game = SERIALIZER.fromJson(rs.getString("chessGame"), ChessGame.class);
+                    ChessGame game = readGame(id, rs);
+                    // rows written with no game before moves were logged have nothing to replay onto
+                    if (game != null) {
+                        game.setPly(rs.getInt("snapshotPly"));
+                        replayMoves(conn, id, game.getPly(), game);
+                    }
                     return new GameData(
                             id, rs.getString("whiteUsername"), rs.getString("blackUsername"),
                             rs.getString("gameName"), game);
@@ -172,6 +164,41 @@ public class DAOFunctionsSQL implements DAOInstance {
         }
     }
 
+    /**
+     * Decodes the stored snapshot, falling back to the JSON column for games
+     * written before the binary format
+     */
+    private ChessGame readGame(int id, ResultSet rs) throws SQLException, DataAccessException {
+        byte[] bytes = rs.getBytes("chessGameBinary");
+        if (bytes == null) {
+            return SERIALIZER.fromJson(rs.getString("chessGame"), ChessGame.class);
+        }
+        try {
+            return GameCodec.decode(bytes);
+        } catch (IllegalArgumentException exception) {
+            throw new DataAccessException("Game " + id + " is stored in an unknown format", exception);
+        }
+    }
+
+    private void replayMoves(Connection conn, int id, int snapshotPly, ChessGame game)
+            throws SQLException, DataAccessException {
+        var sql = "SELECT ply, move FROM GameMove WHERE gameID=? AND ply>? ORDER BY ply";
+        try (var ps = conn.prepareStatement(sql)) {
+            ps.setInt(1, id);
+            ps.setInt(2, snapshotPly);
+            try (var rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    try {
+                        game.makeMove(PackedMove.toChessMove(rs.getInt("move")));
+                    } catch (InvalidMoveException exception) {
+                        throw new DataAccessException("Game " + id + " has an illegal move logged at ply "
+                                + rs.getInt("ply"), exception);
+                    }
+                }
+            }
+        }
+    }
+
     @Override
     public GameData[] listGames() throws DataAccessException {
         var sql = "SELECT gameID,whiteUsername,blackUsername,gameName FROM Game";
@@ -191,19 +218,96 @@ public class DAOFunctionsSQL implements DAOInstance {
         return list.toArray(new GameData[0]);
     }
 
+    /**
+     * Writes the whole game as a new snapshot at the game's ply. The write
+     * only happens if no move has been logged since the game was loaded;
+     * otherwise the snapshot would claim to cover a move it does not contain.
+     *
+     * @throws DataAccessException if the game has no ChessGame to store, or
+     *                             has moved on since it was read
+     */
     @Override
     public void updateGame(GameData game) throws DataAccessException {
-        update("""
+        if (game.game() == null) {
+            throw new DataAccessException("Game " + game.gameID() + " has no board to store");
+        }
+        int ply = game.game().getPly();
+        var sql = """
                 UPDATE Game
-                SET whiteUsername=?, blackUsername=?, gameName=?, chessGame=?
-                WHERE gameID=?""",
-                game.whiteUsername(), game.blackUsername(), game.gameName(),
-                SERIALIZER.toJson(game.game()), game.gameID());
+                SET whiteUsername=?, blackUsername=?, gameName=?, chessGame=NULL, chessGameBinary=?, snapshotPly=?
+                WHERE gameID=? AND (SELECT COALESCE(MAX(ply), 0) FROM GameMove WHERE gameID=?)=?""";
+        int matched;
+        try (var conn = DatabaseManager.getConnection();
+             var ps = conn.prepareStatement(sql)) {
+            bindParams(ps, new Object[] {game.whiteUsername(), game.blackUsername(), game.gameName(),
+                    GameCodec.encode(game.game()), ply,
+                    game.gameID(), game.gameID(), ply});
+            matched = ps.executeUpdate();
+        } catch (SQLException exception) {
+            throw new DataAccessException("DB update failed: " + exception.getMessage(), exception);
+        }
+        if (matched == 0 && gameExists(game.gameID())) {
+            throw new DataAccessException("Game " + game.gameID() + " changed since it was read");
+        }
+    }
+
+    private boolean gameExists(int gameID) throws DataAccessException {
+        try (var conn = DatabaseManager.getConnection();
+             var ps = conn.prepareStatement("SELECT 1 FROM Game WHERE gameID=?")) {
+            ps.setInt(1, gameID);
+            try (var rs = ps.executeQuery()) {
+                return rs.next();
+            }
+        } catch (SQLException exception) {
+            throw new DataAccessException(exception.getMessage(), exception);
+        }
+    }
+
+    /**
+     * Appends the move to the game's log at the ply of {@code after}. Every
+     * {@link #SNAPSHOT_INTERVAL} plies the game is also written out in full,
+     * in the same transaction, so loading never replays a long log.
+     *
+     * @throws DataAccessException if the game does not exist, or another move
+     *                             was logged since the game was read
+     */
+    @Override
+    public void recordMove(int gameID, ChessMove move, ChessGame after) throws DataAccessException {
+        int ply = after.getPly();
+        try (Connection conn = DatabaseManager.getConnection()) {
+            conn.setAutoCommit(false);
+            // selecting from Game appends nothing for a game that does not exist
+            try (var ps = conn.prepareStatement(
+                    "INSERT INTO GameMove (gameID,ply,move) SELECT gameID, ?, ? FROM Game WHERE gameID=?")) {
+                ps.setInt(1, ply);
+                ps.setInt(2, PackedMove.fromChessMove(move));
+                ps.setInt(3, gameID);
+                if (ps.executeUpdate() == 0) {
+                    throw new DataAccessException("No game " + gameID + " to record a move in");
+                }
+            } catch (SQLIntegrityConstraintViolationException exception) {
+                // the ply is the primary key, so a second writer of the same ply lands here
+                throw new DataAccessException("Game " + gameID + " changed since it was read", exception);
+            }
+            if (ply % SNAPSHOT_INTERVAL == 0) {
+                try (var ps = conn.prepareStatement(
+                        "UPDATE Game SET chessGame=NULL, chessGameBinary=?, snapshotPly=? WHERE gameID=?")) {
+                    ps.setBytes(1, GameCodec.encode(after));
+                    ps.setInt(2, ply);
+                    ps.setInt(3, gameID);
+                    ps.executeUpdate();
+                }
+            }
+            conn.commit();
+        } catch (SQLException exception) {
+            throw new DataAccessException("DB update failed: " + exception.getMessage(), exception);
+        }
     }
 
     @Override
     public void clear() throws DataAccessException {
         update("DELETE FROM Auth");
+        update("DELETE FROM GameMove");
         update("DELETE FROM Game");
         update("DELETE FROM User");
     }
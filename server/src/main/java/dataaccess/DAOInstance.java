@@ -1,5 +1,7 @@
 package dataaccess;
 
+import chess.ChessGame;
+import chess.ChessMove;
 import model.GameData;
 import model.UserData;
 import model.AuthData;
@@ -15,4 +17,11 @@ public interface DAOInstance {
     GameData getGame(int gameID) throws DataAccessException;
     GameData[] listGames() throws DataAccessException;
     void updateGame(GameData game) throws DataAccessException;
+
+    /**
+     * Saves a move just made in a stored game
+     *
+     * @param after the game with the move already applied
+     */
+    void recordMove(int gameID, ChessMove move, ChessGame after) throws DataAccessException;
 }
@@ -8,6 +8,7 @@ public class DatabaseManager {
     private static String dbUsername;
     private static String dbPassword;
     private static String connectionUrl;
+    private static ConnectionPool.Settings poolSettings;
 
     /*
      * Load the database information for the db.properties file.
@@ -30,9 +31,10 @@ public class DatabaseManager {
     }
 
     /**
-     * Create a connection to the database and sets the catalog based upon the
-     * properties specified in db.properties. Connections to the database should
-     * be short-lived, and you must close the connection when you are done with it.
+     * Borrows a connection to the database from the connection pool, with the
+     * catalog set from db.properties. Connections to the database should
+     * be short-lived, and you must close the connection when you are done with it,
+     * which returns it to the pool.
      * The easiest way to do that is with a try-with-resource block.
      * <br/>
      * <code>
@@ -43,15 +45,44 @@ public class DatabaseManager {
      */
     static Connection getConnection() throws DataAccessException {
         try {
-            //do not wrap the following line with a try-with-resources
-            var conn = DriverManager.getConnection(connectionUrl, dbUsername, dbPassword);
-            conn.setCatalog(databaseName);
-            return conn;
+            return pool().borrow();
         } catch (SQLException ex) {
             throw new DataAccessException("failed to get connection", ex);
         }
     }
 
+    /**
+     * @return the connection pool's counters, including how long borrowers waited
+     */
+    static ConnectionPool.Metrics poolMetrics() {
+        return pool().metrics();
+    }
+
+    /**
+     * The pool is created on first use, after createDatabase, since its
+     * connections select the database as soon as they open. Class
+     * initialization makes that lazy and thread-safe without taking a lock on
+     * every call.
+     */
+    private static ConnectionPool pool() {
+        return PoolHolder.POOL;
+    }
+
+    private static final class PoolHolder {
+        static final ConnectionPool POOL = new ConnectionPool(DatabaseManager::openConnection, poolSettings);
+    }
+
+    private static Connection openConnection() throws SQLException {
+        var conn = DriverManager.getConnection(connectionUrl, dbUsername, dbPassword);
+        try {
+            conn.setCatalog(databaseName);
+        } catch (SQLException ex) {
+            conn.close();
+            throw ex;
+        }
+        return conn;
+    }
+
     private static void loadPropertiesFromResources() {
         try (var propStream = Thread.currentThread().getContextClassLoader().getResourceAsStream("db.properties")) {
             if (propStream == null) {
@@ -73,5 +104,23 @@ public class DatabaseManager {
         var host = props.getProperty("db.host");
         var port = Integer.parseInt(props.getProperty("db.port"));
         connectionUrl = String.format("jdbc:mysql://%s:%d", host, port);
+
+        var defaults = ConnectionPool.Settings.DEFAULTS;
+        poolSettings = new ConnectionPool.Settings(
+                intProperty(props, "db.pool.maxSize", defaults.maxSize()),
+                longProperty(props, "db.pool.borrowTimeoutMillis", defaults.borrowTimeoutMillis()),
+                longProperty(props, "db.pool.idleTimeoutMillis", defaults.idleTimeoutMillis()),
+                longProperty(props, "db.pool.maxLifetimeMillis", defaults.maxLifetimeMillis()),
+                intProperty(props, "db.pool.validationTimeoutSeconds", defaults.validationTimeoutSeconds()));
+    }
+
+    private static int intProperty(Properties props, String key, int fallback) {
+        var value = props.getProperty(key);
+        return value == null ? fallback : Integer.parseInt(value.trim());
+    }
+
+    private static long longProperty(Properties props, String key, long fallback) {
+        var value = props.getProperty(key);
+        return value == null ? fallback : Long.parseLong(value.trim());
     }
 }
@@ -0,0 +1,174 @@
+package dataaccess;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Brings the database schema up to date at startup without touching the data
+ * already in it.
+ * <p>
+ * Each migration has a version number and runs once: the SchemaVersion table
+ * records every version applied, and only newer migrations run. Migrations
+ * are forward-only; to change the schema, append a new one to {@link #ALL}
+ * rather than editing an old one. A MySQL named lock keeps two servers that
+ * start together from applying the same migration twice.
+ */
+final class Migrations {
+    private static final String LOCK_NAME = "chess_schema_migration";
+    private static final int LOCK_TIMEOUT_SECONDS = 30;
+
+    /**
+     * @param version     the schema version this migration produces
+     * @param description what the migration changes
+     * @param statements  the SQL to run, in order
+     */
+    record Migration(int version, String description, List<String> statements) {
+    }
+
+    static final List<Migration> ALL = List.of(
+            new Migration(1, "create User, Auth and Game tables", List.of(
+                    """
+                    CREATE TABLE IF NOT EXISTS User (
+                      username VARCHAR(50) PRIMARY KEY,
+                      password CHAR(60) NOT NULL,
+                      email VARCHAR(256)
+                    )""",
+                    """
+                    CREATE TABLE IF NOT EXISTS Auth (
+                      authToken CHAR(36) PRIMARY KEY,
+                      username VARCHAR(50) NOT NULL,
+                      created TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+                    )""",
+                    """
+                    CREATE TABLE IF NOT EXISTS Game (
+                      gameID INT AUTO_INCREMENT PRIMARY KEY,
+                      whiteUsername VARCHAR(50),
+                      blackUsername VARCHAR(50),
+                      gameName VARCHAR(256) NOT NULL,
+                      chessGame JSON NOT NULL
+                    )""")),
+            new Migration(2, "add GameMove log and Game.snapshotPly", concat(List.of(
+                    """
+                    CREATE TABLE IF NOT EXISTS GameMove (
+                      gameID INT NOT NULL,
+                      ply INT NOT NULL,
+                      move SMALLINT NOT NULL,
+                      created TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+                      PRIMARY KEY (gameID, ply)
+                    )"""),
+                    addColumn("Game", "snapshotPly", "INT NOT NULL DEFAULT 0"))),
+            new Migration(3, "store games in the binary Game.chessGameBinary column", concat(
+                    addColumn("Game", "chessGameBinary", "VARBINARY(64)"),
+                    // MODIFY leaves the column the same on a rerun
+                    List.of("ALTER TABLE Game MODIFY chessGame JSON NULL"))));
+
+    private Migrations() {
+    }
+
+    /**
+     * MySQL has no ADD COLUMN IF NOT EXISTS, so the ALTER is built and run
+     * only if information_schema shows the column missing. A migration that
+     * added the column and then failed before recording its version can then
+     * run again.
+     *
+     * @return the statements that add a column unless it is already there
+     */
+    static List<String> addColumn(String table, String column, String definition) {
+        return List.of("""
+                        SET @migration_step = IF((SELECT COUNT(*) FROM information_schema.COLUMNS
+                            WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = '%s' AND COLUMN_NAME = '%s') = 0,
+                          'ALTER TABLE %s ADD COLUMN %s %s', 'DO 0')""".formatted(table, column, table, column, definition),
+                "PREPARE migration_step FROM @migration_step",
+                "EXECUTE migration_step",
+                "DEALLOCATE PREPARE migration_step");
+    }
+
+    @SafeVarargs
+    private static List<String> concat(List<String>... parts) {
+        List<String> statements = new ArrayList<>();
+        for (List<String> part : parts) {
+            statements.addAll(part);
+        }
+        return List.copyOf(statements);
+    }
+
+    /**
+     * Applies every migration newer than the database's current version
+     *
+     * @return the schema version after migrating
+     */
+    static int migrate() throws DataAccessException {
+        try (var conn = DatabaseManager.getConnection()) {
+            lock(conn);
+            try {
+                try (var statement = conn.createStatement()) {
+                    statement.executeUpdate("""
+                        CREATE TABLE IF NOT EXISTS SchemaVersion (
+                          version INT PRIMARY KEY,
+                          description VARCHAR(256) NOT NULL,
+                          applied TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+                        )
+                    """);
+                }
+                int current = currentVersion(conn);
+                for (Migration migration : ALL) {
+                    if (migration.version() > current) {
+                        apply(conn, migration);
+                        current = migration.version();
+                    }
+                }
+                return current;
+            } finally {
+                unlock(conn);
+            }
+        } catch (SQLException exception) {
+            throw new DataAccessException("schema migration failed: " + exception.getMessage(), exception);
+        }
+    }
+
+    private static int currentVersion(Connection conn) throws SQLException {
+        try (var statement = conn.createStatement();
+             var rs = statement.executeQuery("SELECT COALESCE(MAX(version), 0) FROM SchemaVersion")) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+
+    /**
+     * Runs one migration's statements and records its version. MySQL commits
+     * each DDL statement on its own, so migrations that may be retried after a
+     * failure part way through should be written to tolerate running again.
+     */
+    private static void apply(Connection conn, Migration migration) throws SQLException {
+        try (var statement = conn.createStatement()) {
+            for (String sql : migration.statements()) {
+                statement.executeUpdate(sql);
+            }
+        }
+        try (var ps = conn.prepareStatement("INSERT INTO SchemaVersion (version, description) VALUES (?, ?)")) {
+            ps.setInt(1, migration.version());
+            ps.setString(2, migration.description());
+            ps.executeUpdate();
+        }
+    }
+
+    private static void lock(Connection conn) throws SQLException {
+        try (var ps = conn.prepareStatement("SELECT GET_LOCK(?, ?)")) {
+            ps.setString(1, LOCK_NAME);
+            ps.setInt(2, LOCK_TIMEOUT_SECONDS);
+            try (var rs = ps.executeQuery()) {
+                if (!rs.next() || rs.getInt(1) != 1) {
+                    throw new SQLException("timed out waiting for the schema migration lock");
+                }
+            }
+        }
+    }
+
+    private static void unlock(Connection conn) throws SQLException {
+        try (var ps = conn.prepareStatement("SELECT RELEASE_LOCK(?)")) {
+            ps.setString(1, LOCK_NAME);
+            ps.executeQuery().close();
+        }
+    }
+}
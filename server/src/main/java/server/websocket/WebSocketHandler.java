@@ -188,23 +188,33 @@ public class WebSocketHandler {
             player = info.blackUsername();
         }
         String message = null;
-        if (game.isInCheckmate(next)) {
-            message = player + " is in checkmate";
-            game.setGameOver(true);
-        } else if (game.isInCheck(next)) {
-            message = player + " is in check";
-        } else if (game.isInStalemate(next)) {
-            message = player + " is in stalemate";
-            game.setGameOver(true);
+        boolean over = game.gameOver();
+        switch (game.evaluateStatus(next)) {
+            case CHECKMATE:
+                message = player + " is in checkmate";
+                game.setGameOver(true);
+                break;
+            case CHECK:
+                message = player + " is in check";
+                break;
+            case STALEMATE:
+                message = player + " is in stalemate";
+                game.setGameOver(true);
+                break;
+            default:
+                break;
         }
         if (message != null) {
             broadcast(info.gameID(), message);
         }
-        try {
-            gameSvc.updateGame(new GameData(
-                    info.gameID(), info.whiteUsername(), info.blackUsername(), info.gameName(), game
-            ));
-        } catch (DataAccessException ignored) {}
+        // the move itself is already logged; only a game that just ended needs a new snapshot
+        if (game.gameOver() != over) {
+            try {
+                gameSvc.updateGame(new GameData(
+                        info.gameID(), info.whiteUsername(), info.blackUsername(), info.gameName(), game
+                ));
+            } catch (DataAccessException ignored) {}
+        }
     }
 
     private void loadGameHandler(Session wsSession, ChessGame game) {
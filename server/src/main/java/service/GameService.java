@@ -46,8 +46,7 @@ public class GameService {
             throw new InvalidMoveException();
         }
         game.makeMove(move);
-        DAO.updateGame(new GameData(g.gameID(), g.whiteUsername(), g.blackUsername(),
-                g.gameName(), game));
+        DAO.recordMove(gameID, move, game);
     }
 
     public void resign(int gameID, String username) throws DataAccessException {
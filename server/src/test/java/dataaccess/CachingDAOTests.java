@@ -0,0 +1,86 @@
+package dataaccess;
+
+import chess.ChessGame;
+import chess.ChessMove;
+import chess.ChessPosition;
+import chess.InvalidMoveException;
+import model.GameData;
+import org.junit.jupiter.api.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CachingDAOTests {
+    private static final ChessMove E4 = new ChessMove(new ChessPosition(2, 5), new ChessPosition(4, 5), null);
+
+    private DAOFunctionsMemory store;
+    private CachingDAO cache;
+
+    @BeforeEach
+    void setUp() {
+        store = new DAOFunctionsMemory();
+        cache = new CachingDAO(store, 2, 60_000);
+    }
+
+    @Test
+    void secondReadIsServedFromMemory() throws DataAccessException {
+        int id = cache.createGame(new GameData(0, null, null, "cached", new ChessGame()));
+        cache.getGame(id);
+        // a change made behind the cache's back stays hidden until the entry goes
+        store.updateGame(new GameData(id, "white", null, "cached", new ChessGame()));
+        assertNull(cache.getGame(id).whiteUsername());
+        assertEquals(0.5, cache.hitRate());
+
+        cache.invalidate(id);
+        assertEquals("white", cache.getGame(id).whiteUsername());
+    }
+
+    @Test
+    void readersGetTheirOwnCopy() throws DataAccessException, InvalidMoveException {
+        int id = cache.createGame(new GameData(0, null, null, "copied", new ChessGame()));
+        cache.getGame(id).game().makeMove(E4);
+        assertEquals(ChessGame.TeamColor.WHITE, cache.getGame(id).game().getTeamTurn());
+    }
+
+    @Test
+    void writesGoThroughAndUpdateTheCache() throws DataAccessException, InvalidMoveException {
+        int id = cache.createGame(new GameData(0, null, null, "written", new ChessGame()));
+        ChessGame game = cache.getGame(id).game();
+        game.makeMove(E4);
+        cache.recordMove(id, E4, game);
+        assertEquals(ChessGame.TeamColor.BLACK, cache.getGame(id).game().getTeamTurn());
+        assertEquals(ChessGame.TeamColor.BLACK, store.getGame(id).game().getTeamTurn());
+
+        cache.updateGame(new GameData(id, "white", "black", "written", game));
+        assertEquals("black", cache.getGame(id).blackUsername());
+        assertEquals("black", store.getGame(id).blackUsername());
+    }
+
+    @Test
+    void leastRecentlyUsedGameIsEvicted() throws DataAccessException {
+        int first = cache.createGame(new GameData(0, null, null, "first", new ChessGame()));
+        int second = cache.createGame(new GameData(0, null, null, "second", new ChessGame()));
+        int third = cache.createGame(new GameData(0, null, null, "third", new ChessGame()));
+        cache.getGame(first);
+        cache.getGame(second);
+        cache.getGame(third);
+        store.updateGame(new GameData(first, "white", null, "first", new ChessGame()));
+        assertEquals("white", cache.getGame(first).whiteUsername());
+    }
+
+    @Test
+    void expiredGameIsReadAgain() throws DataAccessException {
+        cache = new CachingDAO(store, 2, 0);
+        int id = cache.createGame(new GameData(0, null, null, "expiring", new ChessGame()));
+        cache.getGame(id);
+        store.updateGame(new GameData(id, "white", null, "expiring", new ChessGame()));
+        assertEquals("white", cache.getGame(id).whiteUsername());
+    }
+
+    @Test
+    void clearEmptiesTheCache() throws DataAccessException {
+        int id = cache.createGame(new GameData(0, null, null, "cleared", new ChessGame()));
+        cache.getGame(id);
+        cache.clear();
+        assertNull(cache.getGame(id));
+    }
+}
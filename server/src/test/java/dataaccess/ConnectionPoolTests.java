@@ -0,0 +1,113 @@
+package dataaccess;
+
+import org.junit.jupiter.api.*;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConnectionPoolTests {
+
+    /**
+     * Stand-in for a physical connection; only tracks whether it is open and valid
+     */
+    private static final class FakeConnection {
+        boolean closed;
+        boolean valid = true;
+
+        Connection proxy() {
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                    new Class<?>[] {Connection.class}, (proxy, method, args) -> switch (method.getName()) {
+                        case "close" -> {
+                            closed = true;
+                            yield null;
+                        }
+                        case "isClosed" -> closed;
+                        case "isValid" -> valid && !closed;
+                        case "getAutoCommit" -> true;
+                        default -> null;
+                    });
+        }
+    }
+
+    private final List<FakeConnection> opened = new ArrayList<>();
+    private ConnectionPool pool;
+
+    private ConnectionPool newPool(ConnectionPool.Settings settings) {
+        pool = new ConnectionPool(() -> {
+            var fake = new FakeConnection();
+            opened.add(fake);
+            return fake.proxy();
+        }, settings);
+        return pool;
+    }
+
+    @AfterEach
+    void closePool() {
+        if (pool != null) {
+            pool.close();
+        }
+    }
+
+    @Test
+    void returnedConnectionIsReused() throws SQLException {
+        newPool(ConnectionPool.Settings.DEFAULTS);
+        try (var conn = pool.borrow()) {
+            assertFalse(conn.isClosed());
+        }
+        try (var conn = pool.borrow()) {
+            assertFalse(conn.isClosed());
+        }
+        assertEquals(1, opened.size());
+        assertFalse(opened.get(0).closed);
+        assertEquals(2, pool.metrics().borrowed());
+        assertEquals(1, pool.metrics().idle());
+    }
+
+    @Test
+    void closedWrapperCannotBeUsed() throws SQLException {
+        newPool(ConnectionPool.Settings.DEFAULTS);
+        var conn = pool.borrow();
+        conn.close();
+        assertTrue(conn.isClosed());
+        assertThrows(SQLException.class, () -> conn.prepareStatement("SELECT 1"));
+    }
+
+    @Test
+    void fullPoolTimesOut() throws SQLException {
+        newPool(new ConnectionPool.Settings(1, 50, 60_000, 60_000, 1));
+        try (var ignored = pool.borrow()) {
+            assertThrows(SQLException.class, () -> pool.borrow());
+        }
+        assertEquals(1, pool.metrics().timeouts());
+        assertEquals(1, opened.size());
+    }
+
+    @Test
+    void invalidConnectionIsReplaced() throws SQLException {
+        newPool(ConnectionPool.Settings.DEFAULTS);
+        pool.borrow().close();
+        opened.get(0).valid = false;
+        try (var conn = pool.borrow()) {
+            assertNotNull(conn);
+        }
+        assertEquals(2, opened.size());
+        assertTrue(opened.get(0).closed);
+        assertEquals(1, pool.metrics().validationFailures());
+        assertEquals(1, pool.metrics().open());
+    }
+
+    @Test
+    void idleConnectionsAreEvicted() throws SQLException {
+        newPool(new ConnectionPool.Settings(4, 1_000, 0, 60_000, 1));
+        pool.borrow().close();
+        pool.evictExpired();
+        assertTrue(opened.get(0).closed);
+        assertEquals(0, pool.metrics().open());
+        assertEquals(1, pool.metrics().evicted());
+    }
+}
@@ -1,6 +1,9 @@
 package dataaccess;
 
 import chess.ChessGame;
+import chess.ChessMove;
+import chess.ChessPosition;
+import chess.InvalidMoveException;
 import model.*;
 import org.junit.jupiter.api.*;
 
@@ -138,6 +141,81 @@ class DAOFunctionsSQLTest {
         assertThrows(DataAccessException.class, () -> tester.updateGame(bad));
     }
 
+    @Test
+    void recordMoveReplaysOnLoad() throws DataAccessException, InvalidMoveException {
+        int id = tester.createGame(new GameData(0, "white", "black", "logged", null));
+        ChessGame game = tester.getGame(id).game();
+        ChessMove[] moves = {
+                new ChessMove(new ChessPosition(2, 5), new ChessPosition(4, 5), null),
+                new ChessMove(new ChessPosition(7, 5), new ChessPosition(5, 5), null),
+                new ChessMove(new ChessPosition(1, 7), new ChessPosition(3, 6), null)
+        };
+        // enough plies to cross a snapshot, so loading mixes snapshot and replay
+        for (int i = 0; i <= DAOFunctionsSQL.SNAPSHOT_INTERVAL; i++) {
+            ChessMove move = i < moves.length ? moves[i] : shuffle(game);
+            game.makeMove(move);
+            tester.recordMove(id, move, game);
+        }
+        assertEquals(game.getBoard(), tester.getGame(id).game().getBoard());
+        assertEquals(game.getTeamTurn(), tester.getGame(id).game().getTeamTurn());
+    }
+
+    @Test
+    void updateGameAfterLoggedMoveFails() throws DataAccessException, InvalidMoveException {
+        int id = tester.createGame(new GameData(0, "white", null, "stale", null));
+        GameData stale = tester.getGame(id);
+        ChessGame moved = tester.getGame(id).game();
+        ChessMove move = new ChessMove(new ChessPosition(2, 5), new ChessPosition(4, 5), null);
+        moved.makeMove(move);
+        tester.recordMove(id, move, moved);
+
+        GameData joined = new GameData(id, "white", "black", "stale", stale.game());
+        assertThrows(DataAccessException.class, () -> tester.updateGame(joined));
+        assertEquals(ChessGame.TeamColor.BLACK, tester.getGame(id).game().getTeamTurn());
+
+        GameData fresh = tester.getGame(id);
+        tester.updateGame(new GameData(id, "white", "black", "stale", fresh.game()));
+        assertEquals("black", tester.getGame(id).blackUsername());
+        assertEquals(ChessGame.TeamColor.BLACK, tester.getGame(id).game().getTeamTurn());
+    }
+
+    @Test
+    void recordMoveMissingGameLeavesNothing() throws Exception {
+        ChessGame game = new ChessGame();
+        ChessMove move = new ChessMove(new ChessPosition(2, 5), new ChessPosition(4, 5), null);
+        game.makeMove(move);
+        assertThrows(DataAccessException.class, () -> tester.recordMove(424242, move, game));
+        assertNull(tester.getGame(424242));
+        try (var conn = DatabaseManager.getConnection();
+             var ps = conn.prepareStatement("SELECT COUNT(*) FROM GameMove WHERE gameID=?")) {
+            ps.setInt(1, 424242);
+            try (var rs = ps.executeQuery()) {
+                assertTrue(rs.next());
+                assertEquals(0, rs.getInt(1));
+            }
+        }
+    }
+
+    private static ChessMove shuffle(ChessGame game) {
+        // knights hop out and back, so the game never runs out of legal moves
+        int row = game.getTeamTurn() == ChessGame.TeamColor.WHITE ? 1 : 8;
+        ChessPosition home = new ChessPosition(row, 2);
+        ChessPosition out = new ChessPosition(row == 1 ? 3 : 6, 3);
+        return game.getBoard().getPiece(home) != null
+                ? new ChessMove(home, out, null)
+                : new ChessMove(out, home, null);
+    }
+
+    @Test
+    void updateGameWithoutBoardFails() throws DataAccessException {
+        int id = tester.createGame(new GameData(0, null, null, "boardless", null));
+        GameData noBoard = new GameData(id, "white", null, "boardless", null);
+        assertThrows(DataAccessException.class, () -> tester.updateGame(noBoard));
+        GameData stored = tester.getGame(id);
+        assertNull(stored.whiteUsername());
+        assertNotNull(stored.game());
+    }
+
     @Test
     void clearEmptiesAllTables() throws DataAccessException {
         tester.createUser(new UserData("ivy", "test8", "test@mail"));
@@ -0,0 +1,40 @@
+package dataaccess;
+
+import org.junit.jupiter.api.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MigrationsTests {
+
+    @Test
+    void versionsStartAtOneAndIncreaseByOne() {
+        int expected = 1;
+        for (Migrations.Migration migration : Migrations.ALL) {
+            assertEquals(expected, migration.version(), "Migration versions must be consecutive");
+            assertFalse(migration.statements().isEmpty(), "Migration " + expected + " has no statements");
+            expected++;
+        }
+    }
+
+    @Test
+    void migrationsNeverDropTables() {
+        for (Migrations.Migration migration : Migrations.ALL) {
+            for (String sql : migration.statements()) {
+                assertFalse(sql.toUpperCase().contains("DROP TABLE"),
+                        "Migration " + migration.version() + " drops a table");
+            }
+        }
+    }
+
+    @Test
+    void addedColumnsAreGuarded() {
+        for (Migrations.Migration migration : Migrations.ALL) {
+            for (String sql : migration.statements()) {
+                if (sql.toUpperCase().contains("ADD COLUMN")) {
+                    assertTrue(sql.contains("information_schema.COLUMNS"),
+                            "Migration " + migration.version() + " adds a column it would add again on a rerun");
+                }
+            }
+        }
+    }
+}
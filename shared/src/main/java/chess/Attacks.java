@@ -0,0 +1,164 @@
+package chess;
+
+/**
+ * Precomputed attack sets for every piece type. Sliding attacks are looked up
+ * through {@link MagicBitboards}. All squares are indexes as described in
+ * {@link Bitboards}.
+ */
+public final class Attacks {
+    private static final int[][] KNIGHT_STEPS = {
+            {+2, +1}, {+1, +2}, {-1, +2}, {-2, +1},
+            {-2, -1}, {-1, -2}, {+1, -2}, {+2, -1}
+    };
+    private static final int[][] KING_STEPS = {
+            {0, +1}, {+1, +1}, {+1, 0}, {+1, -1},
+            {0, -1}, {-1, -1}, {-1, 0}, {-1, +1}
+    };
+    private static final int[][] ROOK_DIRECTIONS = {
+            {+1, 0}, {0, +1}, {-1, 0}, {0, -1}
+    };
+    private static final int[][] BISHOP_DIRECTIONS = {
+            {+1, +1}, {+1, -1}, {-1, -1}, {-1, +1}
+    };
+
+    private static final long[] KNIGHT = new long[64];
+    private static final long[] KING = new long[64];
+    private static final long[][] PAWN = new long[2][64];
+    private static final long[][] BETWEEN = new long[64][64];
+    private static final long[][] LINE = new long[64][64];
+
+    static {
+        for (int square = 0; square < 64; square++) {
+            KNIGHT[square] = stepAttacks(square, KNIGHT_STEPS);
+            KING[square] = stepAttacks(square, KING_STEPS);
+            int row = Bitboards.row(square);
+            PAWN[ChessGame.TeamColor.WHITE.ordinal()][square] = row < 8
+                    ? stepAttacks(square, new int[][]{{+1, -1}, {+1, +1}}) : 0L;
+            PAWN[ChessGame.TeamColor.BLACK.ordinal()][square] = row > 1
+                    ? stepAttacks(square, new int[][]{{-1, -1}, {-1, +1}}) : 0L;
+        }
+        for (int from = 0; from < 64; from++) {
+            for (int[] dir : ROOK_DIRECTIONS) {
+                fillLines(from, dir);
+            }
+            for (int[] dir : BISHOP_DIRECTIONS) {
+                fillLines(from, dir);
+            }
+        }
+    }
+
+    private Attacks() {
+    }
+
+    public static long knight(int square) {
+        return KNIGHT[square];
+    }
+
+    public static long king(int square) {
+        return KING[square];
+    }
+
+    /**
+     * @return the squares a pawn of the given color on the given square captures on
+     */
+    public static long pawn(ChessGame.TeamColor color, int square) {
+        return PAWN[color.ordinal()][square];
+    }
+
+    /**
+     * @return the squares a rook on the given square attacks, stopping at (and
+     * including) the first occupied square along each ray
+     */
+    public static long rook(int square, long occupied) {
+        return MagicBitboards.rook(square, occupied);
+    }
+
+    /**
+     * @return the squares a bishop on the given square attacks, stopping at (and
+     * including) the first occupied square along each ray
+     */
+    public static long bishop(int square, long occupied) {
+        return MagicBitboards.bishop(square, occupied);
+    }
+
+    public static long queen(int square, long occupied) {
+        return rook(square, occupied) | bishop(square, occupied);
+    }
+
+    /**
+     * @return the squares strictly between two squares on a shared row, column or
+     * diagonal, or an empty set if they are not aligned
+     */
+    public static long between(int from, int to) {
+        return BETWEEN[from][to];
+    }
+
+    /**
+     * @return every square of the full row, column or diagonal through two
+     * squares, or an empty set if they are not aligned
+     */
+    public static long line(int from, int to) {
+        return LINE[from][to];
+    }
+
+    private static void fillLines(int from, int[] dir) {
+        long fullLine = slideAttacks(from, 0L, new int[][]{dir})
+                | slideAttacks(from, 0L, new int[][]{{-dir[0], -dir[1]}})
+                | Bitboards.bit(from);
+        long between = 0L;
+        int row = Bitboards.row(from) + dir[0];
+        int column = Bitboards.column(from) + dir[1];
+        while (Bitboards.onBoard(row, column)) {
+            int to = Bitboards.square(row, column);
+            BETWEEN[from][to] = between;
+            LINE[from][to] = fullLine;
+            between |= Bitboards.bit(to);
+            row += dir[0];
+            column += dir[1];
+        }
+    }
+
+    /**
+     * Walks the rook rays square by square; used to fill the magic tables.
+     */
+    static long rookRays(int square, long occupied) {
+        return slideAttacks(square, occupied, ROOK_DIRECTIONS);
+    }
+
+    /**
+     * Walks the bishop rays square by square; used to fill the magic tables.
+     */
+    static long bishopRays(int square, long occupied) {
+        return slideAttacks(square, occupied, BISHOP_DIRECTIONS);
+    }
+
+    private static long stepAttacks(int square, int[][] steps) {
+        long attacks = 0L;
+        for (int[] step : steps) {
+            int row = Bitboards.row(square) + step[0];
+            int column = Bitboards.column(square) + step[1];
+            if (Bitboards.onBoard(row, column)) {
+                attacks |= Bitboards.bit(Bitboards.square(row, column));
+            }
+        }
+        return attacks;
+    }
+
+    private static long slideAttacks(int square, long occupied, int[][] directions) {
+        long attacks = 0L;
+        for (int[] dir : directions) {
+            int row = Bitboards.row(square) + dir[0];
+            int column = Bitboards.column(square) + dir[1];
+            while (Bitboards.onBoard(row, column)) {
+                long bit = Bitboards.bit(Bitboards.square(row, column));
+                attacks |= bit;
+                if ((occupied & bit) != 0) {
+                    break;
+                }
+                row += dir[0];
+                column += dir[1];
+            }
+        }
+        return attacks;
+    }
+}
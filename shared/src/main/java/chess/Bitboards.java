@@ -0,0 +1,66 @@
+package chess;
+
+/**
+ * Helpers for working with 64-bit square sets.
+ * <p>
+ * Square indexes run from 0 (row 1, column 1) to 63 (row 8, column 8), so bit
+ * {@code (row - 1) * 8 + (column - 1)} of a bitboard stands for that square.
+ */
+public final class Bitboards {
+    public static final long EMPTY = 0L;
+    public static final long ROW_1 = 0xFFL;
+    public static final long ROW_8 = ROW_1 << 56;
+    public static final long COLUMN_1 = 0x0101010101010101L;
+    public static final long COLUMN_8 = COLUMN_1 << 7;
+
+    private Bitboards() {
+    }
+
+    /**
+     * @return the square index for a 1-based row and column
+     */
+    public static int square(int row, int column) {
+        return (row - 1) * 8 + (column - 1);
+    }
+
+    public static int square(ChessPosition position) {
+        return square(position.getRow(), position.getColumn());
+    }
+
+    /**
+     * @return the 1-based row of a square index
+     */
+    public static int row(int square) {
+        return (square >>> 3) + 1;
+    }
+
+    /**
+     * @return the 1-based column of a square index
+     */
+    public static int column(int square) {
+        return (square & 7) + 1;
+    }
+
+    public static ChessPosition position(int square) {
+        return ChessPosition.of(row(square), column(square));
+    }
+
+    public static boolean onBoard(int row, int column) {
+        return row >= 1 && row <= 8 && column >= 1 && column <= 8;
+    }
+
+    public static long bit(int square) {
+        return 1L << square;
+    }
+
+    /**
+     * @return the lowest square in the set, or 64 if the set is empty
+     */
+    public static int first(long bitboard) {
+        return Long.numberOfTrailingZeros(bitboard);
+    }
+
+    public static int count(long bitboard) {
+        return Long.bitCount(bitboard);
+    }
+}
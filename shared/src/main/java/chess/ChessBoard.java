@@ -1,6 +1,5 @@
 package chess;
 
-import java.util.Arrays;
 import java.util.Objects;
 
 /**
@@ -10,7 +9,19 @@ import java.util.Objects;
  * signature of the existing methods.
  */
 public class ChessBoard implements Cloneable {
+    private static final int PIECE_TYPES = ChessPiece.PieceType.values().length;
+
     private ChessPiece[][] squares = new ChessPiece[8][8];
+    // one set per color and piece type, indexed by pieceIndex(); rebuilt from squares after deserialization
+    private transient long[] pieceBitboards;
+    private transient long[] teamBitboards;
+    private transient long zobristKey;
+    private transient long pawnKey;
+    // running material and piece-square totals, white minus black; see PieceSquareTables
+    private transient int midgameScore;
+    private transient int endgameScore;
+    private transient int phase;
+
     public ChessBoard() {
         
     }
@@ -22,7 +33,8 @@ public class ChessBoard implements Cloneable {
      * @param piece    the piece to add
      */
     public void addPiece(ChessPosition position, ChessPiece piece) {
-        squares[(position.getRow()-1)][(position.getColumn()-1)] = piece;
+        placePiece(Bitboards.square(position),
+                piece == null ? null : ChessPiece.of(piece.getTeamColor(), piece.getPieceType()));
     }
 
     /**
@@ -39,16 +51,279 @@ public class ChessBoard implements Cloneable {
         return squares[(position.getRow()-1)][(position.getColumn()-1)];
     }
 
+    /**
+     * Gets a chess piece by square index (see {@link Bitboards})
+     *
+     * @param square the square index, 0 to 63
+     * @return the piece on that square, or null if it is empty
+     */
+    public ChessPiece getPiece(int square) {
+        return squares[square >>> 3][square & 7];
+    }
+
+    /**
+     * @return the set of squares holding pieces of the given color and type
+     */
+    public long getBitboard(ChessGame.TeamColor color, ChessPiece.PieceType type) {
+        ensureBitboards();
+        return pieceBitboards[pieceIndex(color, type)];
+    }
+
+    /**
+     * @return the set of squares holding pieces of the given color
+     */
+    public long getTeamBitboard(ChessGame.TeamColor color) {
+        ensureBitboards();
+        return teamBitboards[color.ordinal()];
+    }
+
+    /**
+     * @return the set of all occupied squares
+     */
+    public long getOccupiedBitboard() {
+        ensureBitboards();
+        return teamBitboards[0] | teamBitboards[1];
+    }
+
+    /**
+     * Gets the square of a team's king in constant time. The king set is kept up to
+     * date by every addPiece and move, so nothing is scanned.
+     *
+     * @param color the team whose king to find
+     * @return the king's square index, or -1 if that team has no king on the board
+     */
+    public int getKingSquare(ChessGame.TeamColor color) {
+        long kings = getBitboard(color, ChessPiece.PieceType.KING);
+        return kings == 0 ? -1 : Bitboards.first(kings);
+    }
+
+    /**
+     * @return the position of a team's king, or null if that team has no king on the board
+     */
+    public ChessPosition getKingPosition(ChessGame.TeamColor color) {
+        int square = getKingSquare(color);
+        return square < 0 ? null : Bitboards.position(square);
+    }
+
+    /**
+     * Determines whether any piece of the given color attacks a square. Looks
+     * outward from the square and stops at the first attacker found.
+     *
+     * @param square   the square index to test
+     * @param attacker the color of the attacking pieces
+     * @return True if the square is attacked
+     */
+    public boolean isSquareAttacked(int square, ChessGame.TeamColor attacker) {
+        ensureBitboards();
+        ChessGame.TeamColor defender = attacker == ChessGame.TeamColor.WHITE
+                ? ChessGame.TeamColor.BLACK : ChessGame.TeamColor.WHITE;
+        if ((Attacks.pawn(defender, square) & pieces(attacker, ChessPiece.PieceType.PAWN)) != 0
+                || (Attacks.knight(square) & pieces(attacker, ChessPiece.PieceType.KNIGHT)) != 0
+                || (Attacks.king(square) & pieces(attacker, ChessPiece.PieceType.KING)) != 0) {
+            return true;
+        }
+        long queens = pieces(attacker, ChessPiece.PieceType.QUEEN);
+        long straight = pieces(attacker, ChessPiece.PieceType.ROOK) | queens;
+        if (straight != 0 && (Attacks.rook(square, getOccupiedBitboard()) & straight) != 0) {
+            return true;
+        }
+        long diagonal = pieces(attacker, ChessPiece.PieceType.BISHOP) | queens;
+        return diagonal != 0 && (Attacks.bishop(square, getOccupiedBitboard()) & diagonal) != 0;
+    }
+
+    public boolean isSquareAttacked(ChessPosition position, ChessGame.TeamColor attacker) {
+        return isSquareAttacked(Bitboards.square(position), attacker);
+    }
+
+    /**
+     * Applies a move in place, without checking that it is legal
+     *
+     * @param move the move to apply
+     * @return a record that undoes the move when passed to {@link #unmakeMove(MoveUndo)}
+     */
+    public MoveUndo makeMove(ChessMove move) {
+        int from = Bitboards.square(move.getStartPosition());
+        int to = Bitboards.square(move.getEndPosition());
+        ChessPiece moved = getPiece(from);
+        ChessPiece captured = getPiece(to);
+        ChessPiece.PieceType promotion = move.getPromotionPiece();
+        placePiece(from, null);
+        placePiece(to, promotion == null ? moved : ChessPiece.of(moved.getTeamColor(), promotion));
+        return new MoveUndo(from, to, moved, captured, promotion);
+    }
+
+    /**
+     * Applies a packed move in place, without checking that it is legal and
+     * without allocating an undo record
+     *
+     * @param move a {@link PackedMove}
+     * @return the captured piece, or null; pass it back to {@link #unmakeMove(int, ChessPiece)}
+     */
+    public ChessPiece makeMove(int move) {
+        int from = PackedMove.from(move);
+        int to = PackedMove.to(move);
+        ChessPiece moved = getPiece(from);
+        ChessPiece captured = getPiece(to);
+        ChessPiece.PieceType promotion = PackedMove.promotion(move);
+        placePiece(from, null);
+        placePiece(to, promotion == null ? moved : ChessPiece.of(moved.getTeamColor(), promotion));
+        return captured;
+    }
+
+    /**
+     * Takes back a packed move applied with {@link #makeMove(int)}. Moves must be
+     * taken back in the reverse order they were made.
+     *
+     * @param move     the move that was made
+     * @param captured the piece returned when the move was made
+     */
+    public void unmakeMove(int move, ChessPiece captured) {
+        int from = PackedMove.from(move);
+        int to = PackedMove.to(move);
+        ChessPiece moved = getPiece(to);
+        if (PackedMove.isPromotion(move)) {
+            moved = ChessPiece.of(moved.getTeamColor(), ChessPiece.PieceType.PAWN);
+        }
+        placePiece(to, captured);
+        placePiece(from, moved);
+    }
+
+    /**
+     * Takes back a move applied with {@link #makeMove(ChessMove)}. Moves must be
+     * taken back in the reverse order they were made.
+     *
+     * @param undo the record returned when the move was made
+     */
+    public void unmakeMove(MoveUndo undo) {
+        placePiece(undo.to(), undo.captured());
+        placePiece(undo.from(), undo.moved());
+    }
+
+    /**
+     * Gets the Zobrist key of the pieces on the board. It is updated with a few
+     * XORs on every addPiece and move rather than recomputed, and it does not
+     * include the side to move; see {@link ChessGame#getPositionKey()}.
+     *
+     * @return the 64-bit key of this arrangement of pieces
+     */
+    public long getZobristKey() {
+        ensureBitboards();
+        return zobristKey;
+    }
+
+    /**
+     * Gets the Zobrist key of the pawns alone, updated along with
+     * {@link #getZobristKey()}. Pawn structure changes far less often than the
+     * rest of the board, so this keys caches of pawn-structure scores.
+     *
+     * @return the 64-bit key of this arrangement of pawns
+     */
+    public long getPawnKey() {
+        ensureBitboards();
+        return pawnKey;
+    }
+
+    /**
+     * Gets the midgame material and piece-square score, kept up to date on
+     * every addPiece and move like the Zobrist key
+     *
+     * @return the score in centipawns, positive when white is ahead
+     */
+    public int getMidgameScore() {
+        ensureBitboards();
+        return midgameScore;
+    }
+
+    /**
+     * @return the endgame material and piece-square score, positive when white is ahead
+     */
+    public int getEndgameScore() {
+        ensureBitboards();
+        return endgameScore;
+    }
+
+    /**
+     * @return the game phase, from {@link PieceSquareTables#MAX_PHASE} with every
+     * piece on the board down to 0 with only kings and pawns
+     */
+    public int getPhase() {
+        ensureBitboards();
+        return phase;
+    }
+
+    private long pieces(ChessGame.TeamColor color, ChessPiece.PieceType type) {
+        return pieceBitboards[pieceIndex(color, type)];
+    }
+
+    private static int pieceIndex(ChessGame.TeamColor color, ChessPiece.PieceType type) {
+        return color.ordinal() * PIECE_TYPES + type.ordinal();
+    }
+
+    private void placePiece(int square, ChessPiece piece) {
+        ensureBitboards();
+        long bit = Bitboards.bit(square);
+        ChessPiece previous = squares[square >>> 3][square & 7];
+        if (previous != null) {
+            pieceBitboards[pieceIndex(previous.getTeamColor(), previous.getPieceType())] &= ~bit;
+            teamBitboards[previous.getTeamColor().ordinal()] &= ~bit;
+            zobristKey ^= Zobrist.piece(previous, square);
+            if (previous.getPieceType() == ChessPiece.PieceType.PAWN) {
+                pawnKey ^= Zobrist.piece(previous, square);
+            }
+            midgameScore -= PieceSquareTables.midgame(previous, square);
+            endgameScore -= PieceSquareTables.endgame(previous, square);
+            phase -= PieceSquareTables.phase(previous.getPieceType());
+        }
+        squares[square >>> 3][square & 7] = piece;
+        if (piece != null) {
+            pieceBitboards[pieceIndex(piece.getTeamColor(), piece.getPieceType())] |= bit;
+            teamBitboards[piece.getTeamColor().ordinal()] |= bit;
+            zobristKey ^= Zobrist.piece(piece, square);
+            if (piece.getPieceType() == ChessPiece.PieceType.PAWN) {
+                pawnKey ^= Zobrist.piece(piece, square);
+            }
+            midgameScore += PieceSquareTables.midgame(piece, square);
+            endgameScore += PieceSquareTables.endgame(piece, square);
+            phase += PieceSquareTables.phase(piece.getPieceType());
+        }
+    }
+
+    private void ensureBitboards() {
+        if (pieceBitboards != null) {
+            return;
+        }
+        pieceBitboards = new long[2 * PIECE_TYPES];
+        teamBitboards = new long[2];
+        zobristKey = 0L;
+        pawnKey = 0L;
+        midgameScore = 0;
+        endgameScore = 0;
+        phase = 0;
+        for (int square = 0; square < 64; square++) {
+            ChessPiece piece = squares[square >>> 3][square & 7];
+            if (piece != null) {
+                piece = ChessPiece.of(piece.getTeamColor(), piece.getPieceType());
+                squares[square >>> 3][square & 7] = piece;
+                pieceBitboards[pieceIndex(piece.getTeamColor(), piece.getPieceType())] |= Bitboards.bit(square);
+                teamBitboards[piece.getTeamColor().ordinal()] |= Bitboards.bit(square);
+                zobristKey ^= Zobrist.piece(piece, square);
+                if (piece.getPieceType() == ChessPiece.PieceType.PAWN) {
+                    pawnKey ^= Zobrist.piece(piece, square);
+                }
+                midgameScore += PieceSquareTables.midgame(piece, square);
+                endgameScore += PieceSquareTables.endgame(piece, square);
+                phase += PieceSquareTables.phase(piece.getPieceType());
+            }
+        }
+    }
+
     /**
      * Sets the board to the default starting board
      * (How the game of chess normally starts)
      */
     public void resetBoard() {
-        for (int x = 0; x < 8; x++) {
-            for (int y = 0; y < 8; y++) {
-                squares[x][y] = null;
-            }
-        }
+        squares = new ChessPiece[8][8];
+        pieceBitboards = null;
         for (int x = 0; x < 8; x++) {
             ChessPiece.PieceType piece;
             if (x == 0 || x == 7) {
@@ -66,11 +341,12 @@ public class ChessBoard implements Cloneable {
             else {
                 piece = ChessPiece.PieceType.KING;
             }
-            squares[0][x] = new ChessPiece(ChessGame.TeamColor.WHITE, piece);
-            squares[1][x] = new ChessPiece(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.PAWN);
-            squares[6][x] = new ChessPiece(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.PAWN);
-            squares[7][x] = new ChessPiece(ChessGame.TeamColor.BLACK, piece);
+            squares[0][x] = ChessPiece.of(ChessGame.TeamColor.WHITE, piece);
+            squares[1][x] = ChessPiece.of(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.PAWN);
+            squares[6][x] = ChessPiece.of(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.PAWN);
+            squares[7][x] = ChessPiece.of(ChessGame.TeamColor.BLACK, piece);
         }
+        ensureBitboards();
     }
 
     @Override
@@ -87,25 +363,23 @@ public class ChessBoard implements Cloneable {
 
     @Override
     public int hashCode() {
-        return Arrays.deepHashCode(squares);
+        return Long.hashCode(getZobristKey());
     }
 
     @Override
     public ChessBoard clone() {
         try {
             ChessBoard boardCopy = (ChessBoard) super.clone();
-            ChessPiece[][] squaresCopy = new ChessPiece[8][8];
+            // pieces are immutable and shared, so only the rows need copying
+            ChessPiece[][] squaresCopy = new ChessPiece[8][];
             for (int x = 0; x < 8; x++) {
-                for (int y = 0; y < 8; y++) {
-                    ChessPiece piece = squares[x][y];
-                    if (piece == null) {
-                        squaresCopy[x][y] = null;
-                    } else {
-                        squaresCopy[x][y] = piece.clone();
-                    }
-                    }
+                squaresCopy[x] = squares[x].clone();
             }
             boardCopy.squares = squaresCopy;
+            if (pieceBitboards != null) {
+                boardCopy.pieceBitboards = pieceBitboards.clone();
+                boardCopy.teamBitboards = teamBitboards.clone();
+            }
             return boardCopy;
         } catch (CloneNotSupportedException e) {
             throw new RuntimeException(e);
@@ -12,11 +12,41 @@ public class ChessGame {
     private ChessBoard board = new ChessBoard();
     private TeamColor currentTurn = TeamColor.WHITE;
     private boolean gameOver = false;
+    // moves made since the start of the game, as far as the loader knows; not sent to clients
+    private transient int ply;
+    private transient MoveCache moveCache;
 
     public ChessGame() {
         board.resetBoard();
     }
 
+    private ChessGame(ChessBoard board, TeamColor currentTurn, boolean gameOver, int ply) {
+        this.board = board;
+        this.currentTurn = currentTurn;
+        this.gameOver = gameOver;
+        this.ply = ply;
+    }
+
+    /**
+     * @return a game with its own copy of this game's board, turn, ply and
+     * game-over flag, so moves made on either do not affect the other
+     */
+    public ChessGame copy() {
+        return new ChessGame(board.clone(), currentTurn, gameOver, ply);
+    }
+
+    /**
+     * @return how many moves have been made in this game; {@link #makeMove(ChessMove)}
+     * counts up from whatever {@link #setPly(int)} last set
+     */
+    public int getPly() {
+        return ply;
+    }
+
+    public void setPly(int ply) {
+        this.ply = ply;
+    }
+
     /**
      * @return Which team's turn it is
      */
@@ -58,6 +88,11 @@ public class ChessGame {
      */
     public enum TeamColor { WHITE, BLACK }
 
+    /**
+     * Enum identifying the state of a team at the start of its turn
+     */
+    public enum GameStatus { NORMAL, CHECK, CHECKMATE, STALEMATE }
+
     /**
      * Gets a valid moves for a piece at the given location
      *
@@ -71,18 +106,41 @@ public class ChessGame {
             return null;
         }
 
-        Collection<ChessMove> validMovesList = new ArrayList<>();
-        for (ChessMove candidateMove : startPiece.pieceMoves(board, startPosition)) {
-            ChessBoard boardCopy = board.clone();
-            doMove(boardCopy, candidateMove);
-            ChessPosition kingPosition = getKingPosition(boardCopy, startPiece.getTeamColor());
-            boolean kingInCheck = kingPosition == null
-                    || inDanger(boardCopy, kingPosition, enemyColor(startPiece.getTeamColor()));
-            if (!kingInCheck) {
-                validMovesList.add(candidateMove);
+        int from = Bitboards.square(startPosition);
+        MoveCache.Entry entry = moveCache().get(board, startPiece.getTeamColor());
+        Collection<ChessMove> moves = new ArrayList<>();
+        for (int i = 0; i < entry.size(); i++) {
+            if (PackedMove.from(entry.move(i)) == from) {
+                moves.add(PackedMove.toChessMove(entry.move(i)));
             }
         }
-        return validMovesList;
+        return moves;
+    }
+
+    /**
+     * Gets every valid move for a team
+     *
+     * @param teamColor the team to get valid moves for
+     * @return the valid moves of all of that team's pieces
+     */
+    public Collection<ChessMove> allValidMoves(TeamColor teamColor) {
+        MoveList moves = new MoveList();
+        validMoves(teamColor, moves);
+        return toChessMoves(moves);
+    }
+
+    /**
+     * Appends every valid move for a team to a reusable list of packed moves,
+     * without creating ChessMove objects
+     *
+     * @param teamColor the team to get valid moves for
+     * @param moves     the list to append {@link PackedMove} ints to
+     */
+    public void validMoves(TeamColor teamColor, MoveList moves) {
+        MoveCache.Entry entry = moveCache().get(board, teamColor);
+        for (int i = 0; i < entry.size(); i++) {
+            moves.add(entry.move(i));
+        }
     }
 
     /**
@@ -98,8 +156,10 @@ public class ChessGame {
                 || !validMoves(move.getStartPosition()).contains(move)) {
             throw new InvalidMoveException();
         }
-        doMove(board, move);
+        board.makeMove(move);
         switchTurn();
+        ply++;
+        moveCache().clear();
     }
 
     @Override
@@ -116,7 +176,18 @@ public class ChessGame {
 
     @Override
     public int hashCode() {
-        return Objects.hash(board, currentTurn);
+        return Long.hashCode(getPositionKey());
+    }
+
+    /**
+     * Gets the Zobrist key of the current position: the board's key combined with
+     * the side to move. Equal positions always have equal keys, so this can key
+     * caches and spot repeated positions without rehashing the board.
+     *
+     * @return the 64-bit key of this position
+     */
+    public long getPositionKey() {
+        return board.getZobristKey() ^ Zobrist.sideToMove(currentTurn);
     }
 
     /**
@@ -127,8 +198,7 @@ public class ChessGame {
      */
     // in check method
     public boolean isInCheck(TeamColor teamColor) {
-        ChessPosition kingPosition = getKingPosition(board, teamColor);
-        return kingPosition == null || inDanger(board, kingPosition, enemyColor(teamColor));
+        return kingInDanger(board, teamColor);
     }
 
     /**
@@ -157,6 +227,19 @@ public class ChessGame {
         return !isInCheck(teamColor) && noValidMoves(teamColor);
     }
 
+    /**
+     * Determines check, checkmate and stalemate for a team in one pass: the check
+     * test runs once and the search for a valid move stops at the first one
+     * found. The result is cached, so asking again about the same position is a
+     * lookup.
+     *
+     * @param teamColor which team to evaluate
+     * @return the team's status
+     */
+    public GameStatus evaluateStatus(TeamColor teamColor) {
+        return moveCache().status(board, teamColor);
+    }
+
     /**
      * Sets this game's chessboard with a given board
      *
@@ -165,6 +248,7 @@ public class ChessGame {
     // set board method
     public void setBoard(ChessBoard board) {
         this.board = board;
+        moveCache().clear();
     }
 
     /**
@@ -177,72 +261,32 @@ public class ChessGame {
         return board;
     }
 
-    private void doMove(ChessBoard board, ChessMove move) {
-        ChessPiece movingPiece = board.getPiece(move.getStartPosition());
-        board.addPiece(move.getStartPosition(), null);
-        board.addPiece(move.getEndPosition(), movingPiece);
-        if (move.getPromotionPiece() != null) {
-            board.addPiece(move.getEndPosition(),
-                    new ChessPiece(movingPiece.getTeamColor(), move.getPromotionPiece()));
-        }
+    private boolean kingInDanger(ChessBoard board, TeamColor color) {
+        int kingSquare = board.getKingSquare(color);
+        return kingSquare < 0 || board.isSquareAttacked(kingSquare, enemyColor(color));
     }
 
-    private boolean inDanger(ChessBoard board, ChessPosition square, TeamColor enemyColor) {
-        for (int x = 1; x <= 8; x++) {
-            for (int y = 1; y <= 8; y++) {
-                ChessPosition fromPosition = new ChessPosition(x, y);
-                ChessPiece piece = board.getPiece(fromPosition);
-                if (piece == null || piece.getTeamColor() != enemyColor) {
-                    continue;
-                }
-                if (attacksSquare(board, fromPosition, square)) {
-                    return true;
-                }
-            }
-        }
-        return false;
+    private boolean noValidMoves(TeamColor teamColor) {
+        GameStatus status = moveCache().status(board, teamColor);
+        return status == GameStatus.CHECKMATE || status == GameStatus.STALEMATE;
     }
 
-    private boolean attacksSquare(ChessBoard board, ChessPosition from, ChessPosition target) {
-        ChessPiece attackingPiece = board.getPiece(from);
-        if (attackingPiece == null) {
-            return false;
-        }
-        for (ChessMove attackMove : attackingPiece.pieceMoves(board, from)) {
-            if (attackMove.getEndPosition().equals(target)) {
-                return true;
-            }
+    /**
+     * Valid moves and status are cached per position, so repeated queries
+     * against an unchanged board skip move generation
+     */
+    private MoveCache moveCache() {
+        if (moveCache == null) {
+            moveCache = new MoveCache();
         }
-        return false;
+        return moveCache;
     }
 
-    private boolean noValidMoves(TeamColor teamColor) {
-        for (int x = 1; x <= 8; x++) {
-            for (int y = 1; y <= 8; y++) {
-                ChessPosition position = new ChessPosition(x, y);
-                ChessPiece piece = board.getPiece(position);
-                if (piece != null && piece.getTeamColor() == teamColor) {
-                    Collection<ChessMove> moves = validMoves(position);
-                    if (moves != null && !moves.isEmpty()) {
-                        return false;
-                    }
-                }
-            }
-        }
-        return true;
-    }
-
-    private ChessPosition getKingPosition(ChessBoard board, TeamColor color) {
-        for (int x = 1; x <= 8; x++) {
-            for (int y = 1; y <= 8; y++) {
-                ChessPiece piece = board.getPiece(new ChessPosition(x, y));
-                if (piece != null
-                        && piece.getTeamColor() == color
-                        && piece.getPieceType() == ChessPiece.PieceType.KING) {
-                    return new ChessPosition(x, y);
-                }
-            }
+    private static Collection<ChessMove> toChessMoves(MoveList moves) {
+        Collection<ChessMove> chessMoves = new ArrayList<>(moves.size());
+        for (int i = 0; i < moves.size(); i++) {
+            chessMoves.add(PackedMove.toChessMove(moves.get(i)));
         }
-        return null;
+        return chessMoves;
     }
 }
@@ -10,6 +10,16 @@ import java.util.Objects;
  */
 public class ChessPosition {
 
+    private static final ChessPosition[] ON_BOARD = new ChessPosition[64];
+
+    static {
+        for (int row = 1; row <= 8; row++) {
+            for (int col = 1; col <= 8; col++) {
+                ON_BOARD[(row - 1) * 8 + (col - 1)] = new ChessPosition(row, col);
+            }
+        }
+    }
+
     private final int row;
     private final int col;
 
@@ -18,6 +28,22 @@ public class ChessPosition {
         this.col = col;
     }
 
+    /**
+     * Gets a shared position instance. Positions are immutable, so the 64 squares
+     * of the board are created once and reused; off-board positions are new
+     * instances.
+     *
+     * @param row the row, 1 to 8
+     * @param col the column, 1 to 8
+     * @return the position
+     */
+    public static ChessPosition of(int row, int col) {
+        if (row < 1 || row > 8 || col < 1 || col > 8) {
+            return new ChessPosition(row, col);
+        }
+        return ON_BOARD[(row - 1) * 8 + (col - 1)];
+    }
+
     /**
      * @return which row this position is in
      * 1 codes for the bottom row
@@ -0,0 +1,127 @@
+package chess;
+
+/**
+ * Reads and writes the piece placement and side-to-move fields of FEN strings.
+ * <p>
+ * This engine has no castling or en passant, so the remaining FEN fields are
+ * accepted but ignored when reading and written as "- -" when writing.
+ */
+public final class Fen {
+    public static final String START_POSITION = "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w - - 0 1";
+
+    private Fen() {
+    }
+
+    /**
+     * Builds a game from a FEN string
+     *
+     * @param fen the position to load
+     * @return a game with that board and side to move
+     * @throws IllegalArgumentException if the placement field is malformed
+     */
+    public static ChessGame parse(String fen) {
+        String[] fields = fen.trim().split("\\s+");
+        String[] rows = fields[0].split("/");
+        if (rows.length != 8) {
+            throw new IllegalArgumentException("FEN needs 8 rows: " + fen);
+        }
+        ChessBoard board = new ChessBoard();
+        for (int i = 0; i < 8; i++) {
+            int row = 8 - i;
+            int column = 1;
+            for (char c : rows[i].toCharArray()) {
+                if (Character.isDigit(c)) {
+                    column += c - '0';
+                } else {
+                    if (column > 8) {
+                        throw new IllegalArgumentException("FEN row too long: " + rows[i]);
+                    }
+                    board.addPiece(ChessPosition.of(row, column), pieceFor(c));
+                    column++;
+                }
+            }
+            if (column != 9) {
+                throw new IllegalArgumentException("FEN row has the wrong length: " + rows[i]);
+            }
+        }
+        ChessGame game = new ChessGame();
+        game.setBoard(board);
+        game.setTeamTurn(fields.length > 1 && fields[1].equals("b")
+                ? ChessGame.TeamColor.BLACK : ChessGame.TeamColor.WHITE);
+        return game;
+    }
+
+    /**
+     * @return the FEN string for a game's board and side to move
+     */
+    public static String toFen(ChessGame game) {
+        StringBuilder fen = new StringBuilder();
+        for (int row = 8; row >= 1; row--) {
+            int empty = 0;
+            for (int column = 1; column <= 8; column++) {
+                ChessPiece piece = game.getBoard().getPiece(ChessPosition.of(row, column));
+                if (piece == null) {
+                    empty++;
+                    continue;
+                }
+                if (empty > 0) {
+                    fen.append(empty);
+                    empty = 0;
+                }
+                fen.append(charFor(piece));
+            }
+            if (empty > 0) {
+                fen.append(empty);
+            }
+            if (row > 1) {
+                fen.append('/');
+            }
+        }
+        fen.append(game.getTeamTurn() == ChessGame.TeamColor.WHITE ? " w" : " b");
+        return fen.append(" - - 0 1").toString();
+    }
+
+    /**
+     * @return a move in long algebraic form, such as "e2e4" or "a7a8q"
+     */
+    public static String moveToString(ChessMove move) {
+        StringBuilder text = new StringBuilder()
+                .append(squareName(move.getStartPosition()))
+                .append(squareName(move.getEndPosition()));
+        if (move.getPromotionPiece() != null) {
+            text.append(Character.toLowerCase(charFor(
+                    ChessPiece.of(ChessGame.TeamColor.WHITE, move.getPromotionPiece()))));
+        }
+        return text.toString();
+    }
+
+    private static String squareName(ChessPosition position) {
+        return "" + (char) ('a' + position.getColumn() - 1) + position.getRow();
+    }
+
+    private static ChessPiece pieceFor(char c) {
+        ChessGame.TeamColor color = Character.isUpperCase(c) ? ChessGame.TeamColor.WHITE : ChessGame.TeamColor.BLACK;
+        ChessPiece.PieceType type = switch (Character.toLowerCase(c)) {
+            case 'k' -> ChessPiece.PieceType.KING;
+            case 'q' -> ChessPiece.PieceType.QUEEN;
+            case 'b' -> ChessPiece.PieceType.BISHOP;
+            case 'n' -> ChessPiece.PieceType.KNIGHT;
+            case 'r' -> ChessPiece.PieceType.ROOK;
+            case 'p' -> ChessPiece.PieceType.PAWN;
+            default -> throw new IllegalArgumentException("Unknown FEN piece: " + c);
+        };
+        return ChessPiece.of(color, type);
+    }
+
+    private static char charFor(ChessPiece piece) {
+        char c = switch (piece.getPieceType()) {
+            case KING -> 'k';
+            case QUEEN -> 'q';
+            case BISHOP -> 'b';
+            case KNIGHT -> 'n';
+            case ROOK -> 'r';
+            case PAWN -> 'p';
+        };
+        return piece.getTeamColor() == ChessGame.TeamColor.WHITE ? Character.toUpperCase(c) : c;
+    }
+}
@@ -0,0 +1,85 @@
+package chess;
+
+/**
+ * A compact binary form of a game for storage.
+ * <p>
+ * The first byte is the format version and the second holds flags for the
+ * side to move and whether the game is over. The board follows as 32 bytes,
+ * one 4-bit code per square in square order, with the even square in the low
+ * half of each byte. Code 0 is an empty square. A piece is its type ordinal
+ * plus one, with 8 added for black.
+ */
+public final class GameCodec {
+    public static final byte VERSION = 1;
+    public static final int LENGTH = 34;
+
+    private static final int BLACK_TO_MOVE = 1;
+    private static final int GAME_OVER = 1 << 1;
+    private static final int BLACK = 8;
+    private static final ChessPiece.PieceType[] TYPES = ChessPiece.PieceType.values();
+
+    private GameCodec() {
+    }
+
+    /**
+     * @return the game's board, side to move and game-over flag in {@link #LENGTH} bytes
+     */
+    public static byte[] encode(ChessGame game) {
+        byte[] bytes = new byte[LENGTH];
+        bytes[0] = VERSION;
+        int flags = 0;
+        if (game.getTeamTurn() == ChessGame.TeamColor.BLACK) {
+            flags |= BLACK_TO_MOVE;
+        }
+        if (game.gameOver()) {
+            flags |= GAME_OVER;
+        }
+        bytes[1] = (byte) flags;
+        ChessBoard board = game.getBoard();
+        for (int square = 0; square < 64; square += 2) {
+            bytes[2 + square / 2] = (byte) (code(board.getPiece(square)) | code(board.getPiece(square + 1)) << 4);
+        }
+        return bytes;
+    }
+
+    /**
+     * Rebuilds a game written by {@link #encode(ChessGame)}
+     *
+     * @throws IllegalArgumentException if the bytes are not in a known format
+     */
+    public static ChessGame decode(byte[] bytes) {
+        if (bytes.length != LENGTH || bytes[0] != VERSION) {
+            throw new IllegalArgumentException("Not an encoded game: " + bytes.length + " bytes, version "
+                    + (bytes.length > 0 ? bytes[0] : "none"));
+        }
+        ChessBoard board = new ChessBoard();
+        for (int square = 0; square < 64; square++) {
+            int code = (bytes[2 + square / 2] >> ((square & 1) * 4)) & 0xF;
+            if (code != 0) {
+                board.addPiece(ChessPosition.of(square / 8 + 1, square % 8 + 1), piece(code));
+            }
+        }
+        ChessGame game = new ChessGame();
+        game.setBoard(board);
+        game.setTeamTurn((bytes[1] & BLACK_TO_MOVE) != 0 ? ChessGame.TeamColor.BLACK : ChessGame.TeamColor.WHITE);
+        game.setGameOver((bytes[1] & GAME_OVER) != 0);
+        return game;
+    }
+
+    private static int code(ChessPiece piece) {
+        if (piece == null) {
+            return 0;
+        }
+        int code = piece.getPieceType().ordinal() + 1;
+        return piece.getTeamColor() == ChessGame.TeamColor.BLACK ? code | BLACK : code;
+    }
+
+    private static ChessPiece piece(int code) {
+        int type = (code & ~BLACK) - 1;
+        if (type < 0 || type >= TYPES.length) {
+            throw new IllegalArgumentException("Unknown square code " + code);
+        }
+        ChessGame.TeamColor color = (code & BLACK) != 0 ? ChessGame.TeamColor.BLACK : ChessGame.TeamColor.WHITE;
+        return ChessPiece.of(color, TYPES[type]);
+    }
+}
@@ -0,0 +1,87 @@
+package chess;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A small least-recently-used cache of the valid moves and status of recently
+ * queried positions, keyed by the board's Zobrist key and the team to move.
+ * <p>
+ * Keys follow the board, so a board edited through {@link ChessGame#getBoard()}
+ * simply misses the cache instead of reading a stale entry.
+ */
+final class MoveCache {
+    private static final int CAPACITY = 16;
+
+    private final Map<Long, Entry> entries = new LinkedHashMap<>(CAPACITY * 2, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+            return size() > CAPACITY;
+        }
+    };
+
+    /**
+     * What is known about one team in one position: its valid moves once
+     * they have been asked for, and its status once that has been asked for.
+     * Either may be filled in without the other.
+     */
+    static final class Entry {
+        private int[] moves;
+        private ChessGame.GameStatus status;
+
+        int size() {
+            return moves.length;
+        }
+
+        int move(int index) {
+            return moves[index];
+        }
+    }
+
+    /**
+     * @return the cached entry for a team on a board, generating its moves if
+     * they are not cached yet
+     */
+    synchronized Entry get(ChessBoard board, ChessGame.TeamColor color) {
+        Entry entry = entry(board, color);
+        if (entry.moves == null) {
+            MoveList moves = new MoveList();
+            MoveGenerator.legalMoves(board, color, moves);
+            int[] packed = new int[moves.size()];
+            for (int i = 0; i < packed.length; i++) {
+                packed[i] = moves.get(i);
+            }
+            entry.moves = packed;
+        }
+        return entry;
+    }
+
+    /**
+     * @return the team's status, computing and caching it on first use. Unless
+     * the moves are already cached, this only looks for one valid move rather
+     * than generating them all.
+     */
+    synchronized ChessGame.GameStatus status(ChessBoard board, ChessGame.TeamColor color) {
+        Entry entry = entry(board, color);
+        if (entry.status == null) {
+            int kingSquare = board.getKingSquare(color);
+            boolean inCheck = kingSquare < 0 || board.isSquareAttacked(kingSquare, MoveGenerator.opponent(color));
+            boolean canMove = entry.moves != null ? entry.moves.length > 0 : MoveGenerator.hasLegalMove(board, color);
+            if (canMove) {
+                entry.status = inCheck ? ChessGame.GameStatus.CHECK : ChessGame.GameStatus.NORMAL;
+            } else {
+                entry.status = inCheck ? ChessGame.GameStatus.CHECKMATE : ChessGame.GameStatus.STALEMATE;
+            }
+        }
+        return entry.status;
+    }
+
+    private Entry entry(ChessBoard board, ChessGame.TeamColor color) {
+        long key = board.getZobristKey() ^ Zobrist.sideToMove(color);
+        return entries.computeIfAbsent(key, k -> new Entry());
+    }
+
+    synchronized void clear() {
+        entries.clear();
+    }
+}
@@ -0,0 +1,328 @@
+package chess;
+
+/**
+ * Generates moves as {@link PackedMove} ints into a {@link MoveList}, without
+ * allocating. Follows the same rules as {@link PieceMovesCalculator}.
+ * <p>
+ * Legal moves are produced directly rather than by trying each move and
+ * testing for check: the pieces giving check limit where other pieces may move
+ * (the check mask), pinned pieces may only move along the line to their king,
+ * and king moves are tested against the enemy's attacks with the king lifted
+ * off the board.
+ */
+public final class MoveGenerator {
+    private static final ChessPiece.PieceType[] PROMOTIONS = {
+            ChessPiece.PieceType.QUEEN, ChessPiece.PieceType.BISHOP,
+            ChessPiece.PieceType.ROOK, ChessPiece.PieceType.KNIGHT
+    };
+    private static final long PROMOTION_ROWS = Bitboards.ROW_1 | Bitboards.ROW_8;
+
+    private MoveGenerator() {
+    }
+
+    /**
+     * Adds every move of a team's pieces on the given squares, ignoring whether
+     * the move leaves its own king in danger
+     *
+     * @param board    the board to generate moves on
+     * @param color    the team to move
+     * @param fromMask the squares whose pieces to generate moves for
+     * @param moves    the list to append the moves to
+     */
+    public static void pseudoLegalMoves(ChessBoard board, ChessGame.TeamColor color, long fromMask, MoveList moves) {
+        long kings = board.getBitboard(color, ChessPiece.PieceType.KING) & fromMask;
+        generate(board, color, board.getTeamBitboard(color) & fromMask & ~kings, -1L, 0L, 0, moves);
+        long own = board.getTeamBitboard(color);
+        for (; kings != 0; kings &= kings - 1) {
+            int from = Bitboards.first(kings);
+            addMoves(from, Attacks.king(from) & ~own, own ^ board.getOccupiedBitboard(), moves);
+        }
+    }
+
+    /**
+     * Adds every valid move of a team's pieces on the given squares. A move is
+     * valid if it does not leave the team's king in danger; a team with no king
+     * on the board has no valid moves.
+     *
+     * @param board    the board to generate moves on
+     * @param color    the team to move
+     * @param fromMask the squares whose pieces to generate moves for
+     * @param moves    the list to append the moves to
+     */
+    public static void legalMoves(ChessBoard board, ChessGame.TeamColor color, long fromMask, MoveList moves) {
+        legalMoves(board, color, fromMask, -1L, moves);
+    }
+
+    /**
+     * Adds every valid move for a team
+     */
+    public static void legalMoves(ChessBoard board, ChessGame.TeamColor color, MoveList moves) {
+        legalMoves(board, color, -1L, -1L, moves);
+    }
+
+    /**
+     * Adds every valid move for a team that captures an enemy piece, including
+     * capturing promotions
+     */
+    public static void legalCaptures(ChessBoard board, ChessGame.TeamColor color, MoveList moves) {
+        legalMoves(board, color, -1L, board.getTeamBitboard(opponent(color)), moves);
+    }
+
+    /**
+     * Determines whether a team has at least one valid move. Uses the same
+     * masks as move generation but stops at the first piece with somewhere to
+     * go, without listing any moves.
+     *
+     * @param board the board to test
+     * @param color the team to move
+     * @return True if the team has a valid move
+     */
+    public static boolean hasLegalMove(ChessBoard board, ChessGame.TeamColor color) {
+        long kings = board.getBitboard(color, ChessPiece.PieceType.KING);
+        if (kings == 0) {
+            return false;
+        }
+        if (Bitboards.count(kings) > 1) {
+            // test boards only; trying each move needs a list
+            MoveList moves = new MoveList();
+            trialLegalMoves(board, color, -1L, -1L, moves);
+            return !moves.isEmpty();
+        }
+        int kingSquare = Bitboards.first(kings);
+        ChessGame.TeamColor enemy = opponent(color);
+        long own = board.getTeamBitboard(color);
+        long occupied = board.getOccupiedBitboard();
+        long liftedKing = occupied & ~kings;
+        for (long targets = Attacks.king(kingSquare) & ~own; targets != 0; targets &= targets - 1) {
+            if (attackersTo(board, Bitboards.first(targets), enemy, liftedKing) == 0) {
+                return true;
+            }
+        }
+        long checkers = attackersTo(board, kingSquare, enemy, occupied);
+        if (Bitboards.count(checkers) > 1) {
+            return false;
+        }
+        long checkMask = checkers == 0
+                ? -1L
+                : checkers | Attacks.between(kingSquare, Bitboards.first(checkers));
+        long pinned = pinnedPieces(board, color, kingSquare);
+        long enemies = own ^ occupied;
+        for (long pieces = own & ~kings; pieces != 0; pieces &= pieces - 1) {
+            int from = Bitboards.first(pieces);
+            long allowed = checkMask & ~own;
+            if ((pinned & Bitboards.bit(from)) != 0) {
+                allowed &= Attacks.line(kingSquare, from);
+            }
+            if ((targets(board.getPiece(from).getPieceType(), from, color, enemies, occupied) & allowed) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return True if applying the pseudo-legal move leaves the mover's king safe
+     */
+    public static boolean isLegal(ChessBoard board, ChessGame.TeamColor color, int move) {
+        ChessPiece captured = board.makeMove(move);
+        int kingSquare = board.getKingSquare(color);
+        boolean legal = kingSquare >= 0 && !board.isSquareAttacked(kingSquare, opponent(color));
+        board.unmakeMove(move, captured);
+        return legal;
+    }
+
+    /**
+     * @return the pieces of the given color that attack a square, treating
+     * only the given squares as occupied
+     */
+    public static long attackersTo(ChessBoard board, int square, ChessGame.TeamColor attacker, long occupied) {
+        long queens = board.getBitboard(attacker, ChessPiece.PieceType.QUEEN);
+        return (Attacks.pawn(opponent(attacker), square) & board.getBitboard(attacker, ChessPiece.PieceType.PAWN))
+                | (Attacks.knight(square) & board.getBitboard(attacker, ChessPiece.PieceType.KNIGHT))
+                | (Attacks.king(square) & board.getBitboard(attacker, ChessPiece.PieceType.KING))
+                | (Attacks.rook(square, occupied) & (board.getBitboard(attacker, ChessPiece.PieceType.ROOK) | queens))
+                | (Attacks.bishop(square, occupied) & (board.getBitboard(attacker, ChessPiece.PieceType.BISHOP) | queens));
+    }
+
+    /**
+     * @return the pieces of the given color that are the only piece between
+     * their king and an enemy rook, bishop or queen
+     */
+    public static long pinnedPieces(ChessBoard board, ChessGame.TeamColor color, int kingSquare) {
+        ChessGame.TeamColor enemy = opponent(color);
+        long queens = board.getBitboard(enemy, ChessPiece.PieceType.QUEEN);
+        long snipers = (Attacks.rook(kingSquare, 0L) & (board.getBitboard(enemy, ChessPiece.PieceType.ROOK) | queens))
+                | (Attacks.bishop(kingSquare, 0L) & (board.getBitboard(enemy, ChessPiece.PieceType.BISHOP) | queens));
+        long occupied = board.getOccupiedBitboard();
+        long pinned = 0L;
+        for (; snipers != 0; snipers &= snipers - 1) {
+            long blockers = Attacks.between(kingSquare, Bitboards.first(snipers)) & occupied;
+            if (Bitboards.count(blockers) == 1) {
+                pinned |= blockers & board.getTeamBitboard(color);
+            }
+        }
+        return pinned;
+    }
+
+    private static void legalMoves(ChessBoard board, ChessGame.TeamColor color, long fromMask, long toMask,
+                                   MoveList moves) {
+        long kings = board.getBitboard(color, ChessPiece.PieceType.KING);
+        if (kings == 0) {
+            return;
+        }
+        if (Bitboards.count(kings) > 1) {
+            // test boards may hold several kings; only the first one counts, so fall back to trying each move
+            trialLegalMoves(board, color, fromMask, toMask, moves);
+            return;
+        }
+        int kingSquare = Bitboards.first(kings);
+        ChessGame.TeamColor enemy = opponent(color);
+        long occupied = board.getOccupiedBitboard();
+        long checkers = attackersTo(board, kingSquare, enemy, occupied);
+
+        if ((fromMask & kings) != 0) {
+            addKingMoves(board, color, kingSquare, toMask, moves);
+        }
+        if (Bitboards.count(checkers) > 1) {
+            return;
+        }
+        long checkMask = checkers == 0
+                ? -1L
+                : checkers | Attacks.between(kingSquare, Bitboards.first(checkers));
+        long pinned = pinnedPieces(board, color, kingSquare);
+        generate(board, color, board.getTeamBitboard(color) & fromMask & ~kings, checkMask & toMask, pinned,
+                kingSquare, moves);
+    }
+
+    static ChessGame.TeamColor opponent(ChessGame.TeamColor color) {
+        return color == ChessGame.TeamColor.WHITE ? ChessGame.TeamColor.BLACK : ChessGame.TeamColor.WHITE;
+    }
+
+    private static void trialLegalMoves(ChessBoard board, ChessGame.TeamColor color, long fromMask, long toMask,
+                                        MoveList moves) {
+        int start = moves.size();
+        pseudoLegalMoves(board, color, fromMask, moves);
+        int kept = start;
+        for (int i = start; i < moves.size(); i++) {
+            int move = moves.get(i);
+            if ((toMask & Bitboards.bit(PackedMove.to(move))) != 0 && isLegal(board, color, move)) {
+                moves.set(kept++, move);
+            }
+        }
+        moves.truncate(kept);
+    }
+
+    private static void addKingMoves(ChessBoard board, ChessGame.TeamColor color, int kingSquare, long toMask,
+                                     MoveList moves) {
+        ChessGame.TeamColor enemy = opponent(color);
+        long own = board.getTeamBitboard(color);
+        // lift the king off so sliders checking it also cover the squares behind it
+        long occupied = board.getOccupiedBitboard() & ~Bitboards.bit(kingSquare);
+        long enemies = board.getTeamBitboard(enemy);
+        for (long targets = Attacks.king(kingSquare) & toMask & ~own; targets != 0; targets &= targets - 1) {
+            int to = Bitboards.first(targets);
+            if (attackersTo(board, to, enemy, occupied) == 0) {
+                moves.add(PackedMove.of(kingSquare, to) | ((enemies & Bitboards.bit(to)) != 0 ? PackedMove.CAPTURE : 0));
+            }
+        }
+    }
+
+    /**
+     * Adds moves of the given non-king pieces that land inside the target mask,
+     * keeping pinned pieces on the line through their king
+     */
+    private static void generate(ChessBoard board, ChessGame.TeamColor color, long pieces, long targetMask,
+                                 long pinned, int kingSquare, MoveList moves) {
+        long own = board.getTeamBitboard(color);
+        long occupied = board.getOccupiedBitboard();
+        long enemy = own ^ occupied;
+
+        for (; pieces != 0; pieces &= pieces - 1) {
+            int from = Bitboards.first(pieces);
+            long allowed = targetMask & ~own;
+            if ((pinned & Bitboards.bit(from)) != 0) {
+                allowed &= Attacks.line(kingSquare, from);
+            }
+            switch (board.getPiece(from).getPieceType()) {
+                case PAWN -> addPawnMoves(from, color, enemy, occupied, allowed, moves);
+                case KNIGHT -> addMoves(from, Attacks.knight(from) & allowed, enemy, moves);
+                case BISHOP -> addMoves(from, Attacks.bishop(from, occupied) & allowed, enemy, moves);
+                case ROOK -> addMoves(from, Attacks.rook(from, occupied) & allowed, enemy, moves);
+                case QUEEN -> addMoves(from, Attacks.queen(from, occupied) & allowed, enemy, moves);
+                case KING -> addMoves(from, Attacks.king(from) & allowed, enemy, moves);
+            }
+        }
+    }
+
+    /**
+     * @return the squares a non-king piece could move to, before pins and checks
+     */
+    private static long targets(ChessPiece.PieceType type, int from, ChessGame.TeamColor color, long enemy,
+                                long occupied) {
+        return switch (type) {
+            case PAWN -> pawnTargets(from, color, enemy, occupied);
+            case KNIGHT -> Attacks.knight(from);
+            case BISHOP -> Attacks.bishop(from, occupied);
+            case ROOK -> Attacks.rook(from, occupied);
+            case QUEEN -> Attacks.queen(from, occupied);
+            case KING -> Attacks.king(from);
+        };
+    }
+
+    private static long pawnTargets(int from, ChessGame.TeamColor color, long enemy, long occupied) {
+        int row = Bitboards.row(from);
+        boolean white = color == ChessGame.TeamColor.WHITE;
+        long targets = Attacks.pawn(color, from) & enemy;
+        if (white ? row < 8 : row > 1) {
+            int to = white ? from + 8 : from - 8;
+            if ((occupied & Bitboards.bit(to)) == 0) {
+                targets |= Bitboards.bit(to);
+                int doubleTo = white ? from + 16 : from - 16;
+                if (row == (white ? 2 : 7) && (occupied & Bitboards.bit(doubleTo)) == 0) {
+                    targets |= Bitboards.bit(doubleTo);
+                }
+            }
+        }
+        return targets;
+    }
+
+    private static void addPawnMoves(int from, ChessGame.TeamColor color, long enemy, long occupied, long allowed,
+                                     MoveList moves) {
+        int row = Bitboards.row(from);
+        boolean white = color == ChessGame.TeamColor.WHITE;
+        if (white ? row < 8 : row > 1) {
+            int to = white ? from + 8 : from - 8;
+            if ((occupied & Bitboards.bit(to)) == 0) {
+                if ((allowed & Bitboards.bit(to)) != 0) {
+                    addPawnMove(from, to, 0, moves);
+                }
+                int startRow = white ? 2 : 7;
+                int doubleTo = white ? from + 16 : from - 16;
+                if (row == startRow && (occupied & Bitboards.bit(doubleTo)) == 0
+                        && (allowed & Bitboards.bit(doubleTo)) != 0) {
+                    moves.add(PackedMove.of(from, doubleTo));
+                }
+            }
+        }
+        for (long captures = Attacks.pawn(color, from) & enemy & allowed; captures != 0; captures &= captures - 1) {
+            addPawnMove(from, Bitboards.first(captures), PackedMove.CAPTURE, moves);
+        }
+    }
+
+    private static void addPawnMove(int from, int to, int flags, MoveList moves) {
+        if ((PROMOTION_ROWS & Bitboards.bit(to)) != 0) {
+            for (ChessPiece.PieceType promotion : PROMOTIONS) {
+                moves.add(PackedMove.of(from, to, promotion) | flags);
+            }
+        } else {
+            moves.add(PackedMove.of(from, to) | flags);
+        }
+    }
+
+    private static void addMoves(int from, long targets, long enemy, MoveList moves) {
+        for (; targets != 0; targets &= targets - 1) {
+            int to = Bitboards.first(targets);
+            moves.add(PackedMove.of(from, to) | ((enemy & Bitboards.bit(to)) != 0 ? PackedMove.CAPTURE : 0));
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package chess;
+
+/**
+ * Everything {@link ChessBoard#unmakeMove(MoveUndo)} needs to take back a move
+ * applied with {@link ChessBoard#makeMove(ChessMove)}
+ *
+ * @param from      square index the piece moved from
+ * @param to        square index the piece moved to
+ * @param moved     the piece that moved, before any promotion
+ * @param captured  the piece that was on the destination square, or null
+ * @param promotion the type the piece was promoted to, or null
+ */
+public record MoveUndo(int from, int to, ChessPiece moved, ChessPiece captured, ChessPiece.PieceType promotion) {
+}
@@ -0,0 +1,67 @@
+package chess;
+
+/**
+ * Encodes a move in a single int so move lists can be generated without
+ * allocating objects.
+ * <pre>
+ * bits  0-5   start square index (see {@link Bitboards})
+ * bits  6-11  end square index
+ * bits 12-14  promotion piece: 0 for none, otherwise PieceType ordinal + 1
+ * bit  15     set if the move captures a piece
+ * </pre>
+ * {@link ChessMove} objects are only built at the API boundary with
+ * {@link #toChessMove(int)}.
+ */
+public final class PackedMove {
+    public static final int NONE = 0;
+    public static final int CAPTURE = 1 << 15;
+
+    private static final ChessPiece.PieceType[] TYPES = ChessPiece.PieceType.values();
+
+    private PackedMove() {
+    }
+
+    public static int of(int from, int to) {
+        return from | (to << 6);
+    }
+
+    public static int of(int from, int to, ChessPiece.PieceType promotion) {
+        return promotion == null ? of(from, to) : of(from, to) | ((promotion.ordinal() + 1) << 12);
+    }
+
+    public static int from(int move) {
+        return move & 63;
+    }
+
+    public static int to(int move) {
+        return (move >>> 6) & 63;
+    }
+
+    /**
+     * @return the promotion piece type, or null if the move is not a promotion
+     */
+    public static ChessPiece.PieceType promotion(int move) {
+        int code = (move >>> 12) & 7;
+        return code == 0 ? null : TYPES[code - 1];
+    }
+
+    public static boolean isPromotion(int move) {
+        return (move & (7 << 12)) != 0;
+    }
+
+    public static boolean isCapture(int move) {
+        return (move & CAPTURE) != 0;
+    }
+
+    public static ChessMove toChessMove(int move) {
+        return new ChessMove(Bitboards.position(from(move)), Bitboards.position(to(move)), promotion(move));
+    }
+
+    /**
+     * @return the packed form of a move, without the capture flag
+     */
+    public static int fromChessMove(ChessMove move) {
+        return of(Bitboards.square(move.getStartPosition()), Bitboards.square(move.getEndPosition()),
+                move.getPromotionPiece());
+    }
+}
@@ -0,0 +1,222 @@
+package chess;
+
+import java.io.Serial;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Walks the legal move tree on a fork-join pool, splitting the work by move
+ * near the root and letting idle threads steal subtrees.
+ * <p>
+ * Every task works on its own copy of the board, so the game passed in is
+ * never modified and no board is shared between threads. Below
+ * {@link #SEQUENTIAL_DEPTH} plies the remaining subtree is walked on one
+ * thread with make/unmake, as in {@link Perft}.
+ * <p>
+ * Command line: {@code java chess.ParallelPerft <depth> [fen]} prints the
+ * node rate for 1, 2, 4, ... threads up to the number of cores.
+ */
+public class ParallelPerft {
+    /**
+     * Subtrees this shallow are cheaper to walk than to split
+     */
+    static final int SEQUENTIAL_DEPTH = 3;
+
+    private final ChessGame game;
+    private final ForkJoinPool pool;
+
+    /**
+     * Uses a pool with one thread per available core
+     */
+    public ParallelPerft(ChessGame game) {
+        this(game, new ForkJoinPool(Runtime.getRuntime().availableProcessors()));
+    }
+
+    public ParallelPerft(ChessGame game, ForkJoinPool pool) {
+        this.game = game;
+        this.pool = pool;
+    }
+
+    /**
+     * Result of a timed run at a given thread count
+     *
+     * @param threads the pool's parallelism
+     * @param report  the node count and time taken
+     * @param speedup the node rate relative to the first run in the series
+     */
+    public record Scaling(int threads, Perft.Report report, double speedup) {
+    }
+
+    /**
+     * @return the number of leaf nodes of the legal move tree at the given
+     * depth, the same value {@link Perft#count} returns
+     */
+    public long count(int depth) {
+        if (depth <= 0) {
+            return 1;
+        }
+        return pool.invoke(new CountTask(game.getBoard().clone(), game.getTeamTurn(), depth));
+    }
+
+    /**
+     * @return the node count at the given depth along with how long it took
+     */
+    public Perft.Report measure(int depth) {
+        long start = System.nanoTime();
+        long nodes = count(depth);
+        return new Perft.Report(depth, nodes, System.nanoTime() - start);
+    }
+
+    /**
+     * Calls the visitor for the starting position and every position reached
+     * from it in up to the given number of moves
+     *
+     * @param depth   the deepest ply to visit
+     * @param visitor called once per position, possibly from several threads
+     */
+    public void visit(int depth, PositionVisitor visitor) {
+        pool.invoke(new VisitTask(game.getBoard().clone(), game.getTeamTurn(), 0, depth, visitor));
+    }
+
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    /**
+     * Times the same count on pools of increasing size
+     *
+     * @param game         the position to count from
+     * @param depth        the depth to count to
+     * @param threadCounts the pool sizes to try, in order
+     * @return one result per thread count, with speedups relative to the first
+     */
+    public static List<Scaling> scaling(ChessGame game, int depth, int... threadCounts) {
+        List<Scaling> results = new ArrayList<>();
+        long baseRate = 0;
+        for (int threads : threadCounts) {
+            ParallelPerft perft = new ParallelPerft(game, new ForkJoinPool(threads));
+            try {
+                Perft.Report report = perft.measure(depth);
+                if (baseRate == 0) {
+                    baseRate = Math.max(report.nodesPerSecond(), 1);
+                }
+                results.add(new Scaling(threads, report, (double) report.nodesPerSecond() / baseRate));
+            } finally {
+                perft.shutdown();
+            }
+        }
+        return results;
+    }
+
+    private static final class CountTask extends RecursiveTask<Long> {
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        private final ChessBoard board;
+        private final ChessGame.TeamColor turn;
+        private final int depth;
+
+        CountTask(ChessBoard board, ChessGame.TeamColor turn, int depth) {
+            this.board = board;
+            this.turn = turn;
+            this.depth = depth;
+        }
+
+        @Override
+        protected Long compute() {
+            if (depth <= SEQUENTIAL_DEPTH) {
+                return Perft.count(board, turn, depth, new MoveList[depth]);
+            }
+            MoveList moves = new MoveList();
+            MoveGenerator.legalMoves(board, turn, moves);
+            List<CountTask> children = new ArrayList<>(moves.size());
+            for (int i = 0; i < moves.size(); i++) {
+                ChessBoard child = board.clone();
+                child.makeMove(moves.get(i));
+                children.add(new CountTask(child, MoveGenerator.opponent(turn), depth - 1));
+            }
+            long nodes = 0;
+            for (CountTask task : invokeAll(children)) {
+                nodes += task.join();
+            }
+            return nodes;
+        }
+    }
+
+    private static final class VisitTask extends RecursiveAction {
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        private final ChessBoard board;
+        private final ChessGame.TeamColor turn;
+        private final int ply;
+        private final int depth;
+        private final PositionVisitor visitor;
+
+        VisitTask(ChessBoard board, ChessGame.TeamColor turn, int ply, int depth, PositionVisitor visitor) {
+            this.board = board;
+            this.turn = turn;
+            this.ply = ply;
+            this.depth = depth;
+            this.visitor = visitor;
+        }
+
+        @Override
+        protected void compute() {
+            if (depth - ply <= SEQUENTIAL_DEPTH) {
+                visitSequential(board, turn, ply, depth, visitor);
+                return;
+            }
+            visitor.visit(board, turn, ply);
+            MoveList moves = new MoveList();
+            MoveGenerator.legalMoves(board, turn, moves);
+            List<VisitTask> children = new ArrayList<>(moves.size());
+            for (int i = 0; i < moves.size(); i++) {
+                ChessBoard child = board.clone();
+                child.makeMove(moves.get(i));
+                children.add(new VisitTask(child, MoveGenerator.opponent(turn), ply + 1, depth, visitor));
+            }
+            invokeAll(children);
+        }
+
+        private static void visitSequential(ChessBoard board, ChessGame.TeamColor turn, int ply, int depth,
+                                            PositionVisitor visitor) {
+            visitor.visit(board, turn, ply);
+            if (ply >= depth) {
+                return;
+            }
+            MoveList moves = new MoveList();
+            MoveGenerator.legalMoves(board, turn, moves);
+            for (int i = 0; i < moves.size(); i++) {
+                int move = moves.get(i);
+                ChessPiece captured = board.makeMove(move);
+                visitSequential(board, MoveGenerator.opponent(turn), ply + 1, depth, visitor);
+                board.unmakeMove(move, captured);
+            }
+        }
+    }
+
+    public static void main(String[] args) {
+        if (args.length < 1) {
+            System.err.println("usage: ParallelPerft <depth> [fen]");
+            System.exit(2);
+        }
+        int depth = Integer.parseInt(args[0]);
+        ChessGame game = Fen.parse(args.length > 1 ? args[1] : Fen.START_POSITION);
+        List<Integer> counts = new ArrayList<>();
+        int cores = Runtime.getRuntime().availableProcessors();
+        for (int threads = 1; threads < cores; threads *= 2) {
+            counts.add(threads);
+        }
+        counts.add(cores);
+        int[] threadCounts = counts.stream().mapToInt(Integer::intValue).toArray();
+        for (Scaling result : scaling(game, depth, threadCounts)) {
+            Perft.Report report = result.report();
+            System.out.printf("threads %2d  nodes %,d  time %d ms  %,d nodes/s  speedup %.2fx%n", result.threads(),
+                    report.nodes(), report.nanos() / 1_000_000, report.nodesPerSecond(), result.speedup());
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package chess;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Counts the leaf nodes of the legal move tree to a fixed depth ("perft").
+ * <p>
+ * Known node counts for a position catch move generator bugs, and the time
+ * taken to count them measures generator throughput. Moves are made and taken
+ * back on the game's own board, which is left as it was found.
+ * <p>
+ * Command line: {@code java chess.Perft <depth> [fen] [--divide]}
+ */
+public class Perft {
+    private final ChessGame game;
+
+    public Perft(ChessGame game) {
+        this.game = game;
+    }
+
+    /**
+     * Result of a timed perft run
+     *
+     * @param depth the depth searched
+     * @param nodes the number of leaf nodes
+     * @param nanos the time taken
+     */
+    public record Report(int depth, long nodes, long nanos) {
+        public long nodesPerSecond() {
+            return nanos == 0 ? 0 : nodes * 1_000_000_000L / nanos;
+        }
+    }
+
+    /**
+     * @return the number of leaf nodes of the legal move tree at the given depth
+     */
+    public long count(int depth) {
+        if (depth <= 0) {
+            return 1;
+        }
+        return count(game.getBoard(), game.getTeamTurn(), depth, new MoveList[depth]);
+    }
+
+    /**
+     * Splits the count by root move, which narrows a wrong count down to the
+     * move whose subtree is wrong.
+     *
+     * @return leaf nodes at the given depth below each legal root move
+     */
+    public Map<ChessMove, Long> divide(int depth) {
+        Map<ChessMove, Long> counts = new LinkedHashMap<>();
+        ChessBoard board = game.getBoard();
+        ChessGame.TeamColor turn = game.getTeamTurn();
+        MoveList rootMoves = new MoveList();
+        game.validMoves(turn, rootMoves);
+        MoveList[] lists = new MoveList[Math.max(depth - 1, 0)];
+        for (int i = 0; i < rootMoves.size(); i++) {
+            int move = rootMoves.get(i);
+            ChessPiece captured = board.makeMove(move);
+            long nodes = depth <= 1 ? 1 : count(board, game.enemyColor(turn), depth - 1, lists);
+            board.unmakeMove(move, captured);
+            counts.put(PackedMove.toChessMove(move), nodes);
+        }
+        return counts;
+    }
+
+    /**
+     * @return the node count at the given depth along with how long it took
+     */
+    public Report measure(int depth) {
+        long start = System.nanoTime();
+        long nodes = count(depth);
+        return new Report(depth, nodes, System.nanoTime() - start);
+    }
+
+    static long count(ChessBoard board, ChessGame.TeamColor turn, int depth, MoveList[] lists) {
+        MoveList moves = lists[depth - 1];
+        if (moves == null) {
+            moves = new MoveList();
+            lists[depth - 1] = moves;
+        }
+        moves.clear();
+        MoveGenerator.legalMoves(board, turn, moves);
+        if (depth == 1) {
+            return moves.size();
+        }
+        ChessGame.TeamColor next = MoveGenerator.opponent(turn);
+        long nodes = 0;
+        for (int i = 0; i < moves.size(); i++) {
+            int move = moves.get(i);
+            ChessPiece captured = board.makeMove(move);
+            nodes += count(board, next, depth - 1, lists);
+            board.unmakeMove(move, captured);
+        }
+        return nodes;
+    }
+
+    public static void main(String[] args) {
+        if (args.length < 1) {
+            System.err.println("usage: Perft <depth> [fen] [--divide]");
+            System.exit(2);
+        }
+        int depth = Integer.parseInt(args[0]);
+        String fen = Fen.START_POSITION;
+        boolean divide = false;
+        for (int i = 1; i < args.length; i++) {
+            if (args[i].equals("--divide")) {
+                divide = true;
+            } else {
+                fen = args[i];
+            }
+        }
+        Perft perft = new Perft(Fen.parse(fen));
+        if (divide) {
+            long total = 0;
+            for (Map.Entry<ChessMove, Long> entry : perft.divide(depth).entrySet()) {
+                System.out.println(Fen.moveToString(entry.getKey()) + ": " + entry.getValue());
+                total += entry.getValue();
+            }
+            System.out.println("total: " + total);
+            return;
+        }
+        for (int d = 1; d <= depth; d++) {
+            Report report = perft.measure(d);
+            System.out.printf("depth %d  nodes %,d  time %d ms  %,d nodes/s%n", d, report.nodes(),
+                    report.nanos() / 1_000_000, report.nodesPerSecond());
+        }
+    }
+}
@@ -59,35 +59,19 @@ public class PieceMovesCalculator {
         return stepMoveCalculator(kingDirections);
     }
 
-    private Collection<ChessMove> slideMoveCalculator(int[][] directions) {
-        for (int[] n : directions) {
-            int x = row + n[0];
-            int y = col + n[1];
-            while (x >= 1 && x <= 8 && y >= 1 && y <= 8) {
-                int flag = checkAndAdd(x, y);
-                if (flag == 1) {
-                    break;
-                }
-                x += n[0];
-                y += n[1];
-            }
+    private Collection<ChessMove> slideMoveCalculator(long attacks) {
+        for (long targets = attacks & ~board.getTeamBitboard(pieceColor); targets != 0; targets &= targets - 1) {
+            moves.add(new ChessMove(myPosition, Bitboards.position(Bitboards.first(targets)), null));
         }
         return moves;
     }
 
     private Collection<ChessMove> queenMoveCalculator() {
-        int[][] queenDirections = {
-                {0, +1}, {+1, +1}, {+1, 0}, {+1, -1},
-                {0, -1}, {-1, -1}, {-1, 0}, {-1, +1}
-        };
-        return slideMoveCalculator(queenDirections);
+        return slideMoveCalculator(Attacks.queen(Bitboards.square(myPosition), board.getOccupiedBitboard()));
     }
 
     private Collection<ChessMove> bishopMoveCalculator() {
-        int[][] bishopDirections = {
-                {+1, +1}, {+1, -1}, {-1, -1}, {-1, +1}
-        };
-        return slideMoveCalculator(bishopDirections);
+        return slideMoveCalculator(Attacks.bishop(Bitboards.square(myPosition), board.getOccupiedBitboard()));
     }
 
     private Collection<ChessMove> knightMoveCalculator() {
@@ -99,10 +83,7 @@ public class PieceMovesCalculator {
     }
 
     private Collection<ChessMove> rookMoveCalculator() {
-        int[][] rookDirections = {
-                {+1, 0}, {0, +1}, {-1, 0}, {0, -1}
-        };
-        return slideMoveCalculator(rookDirections);
+        return slideMoveCalculator(Attacks.rook(Bitboards.square(myPosition), board.getOccupiedBitboard()));
     }
 
     private Collection<ChessMove> pawnMoveCalculator() {
@@ -129,11 +110,11 @@ public class PieceMovesCalculator {
             }
             if (n[0] == 2 && n[1] == 0) {
                 int var = (pieceColor == WHITE) ? row + 1 : row - 1;
-                if (board.getPiece(new ChessPosition(var, col)) != null) {
+                if (board.getPiece(ChessPosition.of(var, col)) != null) {
                     continue;
                 }
             }
-            ChessPosition newSquare = new ChessPosition(x, y);
+            ChessPosition newSquare = ChessPosition.of(x, y);
             ChessPiece pieceCheck = board.getPiece(newSquare);
             if ((abs(n[1]) == 1) && (pieceCheck == null)) {
                 continue;
@@ -146,10 +127,9 @@ public class PieceMovesCalculator {
     }
 
     private int checkAndAdd(int x, int y) {
-        ChessPosition newSquare = new ChessPosition(x, y);
-        ChessPiece pieceCheck = board.getPiece(newSquare);
-        if (pieceCheck != null) {
-            if (pieceCheck.getTeamColor() == pieceColor) {
+        long target = Bitboards.bit(Bitboards.square(x, y));
+        if ((board.getOccupiedBitboard() & target) != 0) {
+            if ((board.getTeamBitboard(pieceColor) & target) != 0) {
                 return 1;
             } else {
                 return doAdd(x, y);
@@ -158,21 +138,21 @@ public class PieceMovesCalculator {
         if (type == PAWN && (x == 8 || x == 1)) {
             return doAdd(x, y);
         }
-        ChessMove move = new ChessMove(myPosition, newSquare, null);
+        ChessMove move = new ChessMove(myPosition, ChessPosition.of(x, y), null);
         moves.add(move);
         return 0;
     }
 
     private int doAdd(int x, int y) {
         if ((type == PAWN) && (x == 8 || x == 1)) {
-            ChessPosition newSquare = new ChessPosition(x, y);
+            ChessPosition newSquare = ChessPosition.of(x, y);
             moves.add(new ChessMove(myPosition, newSquare, QUEEN));
             moves.add(new ChessMove(myPosition, newSquare, BISHOP));
             moves.add(new ChessMove(myPosition, newSquare, ROOK));
             moves.add(new ChessMove(myPosition, newSquare, KNIGHT));
             return 1;
         } else {
-            ChessPosition newSquare = new ChessPosition(x, y);
+            ChessPosition newSquare = ChessPosition.of(x, y);
             ChessMove move = new ChessMove(myPosition, newSquare, null);
             moves.add(move);
             return 1;
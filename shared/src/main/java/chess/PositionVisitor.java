@@ -0,0 +1,19 @@
+package chess;
+
+/**
+ * Callback for {@link ParallelPerft#visit}, which calls it once for every
+ * position reached in the legal move tree.
+ * <p>
+ * Calls come from several threads at once, so implementations must be
+ * thread-safe. The board belongs to the calling thread and only holds the
+ * visited position for the duration of the call; copy it to keep it.
+ */
+@FunctionalInterface
+public interface PositionVisitor {
+    /**
+     * @param board the position being visited
+     * @param turn  the team to move in that position
+     * @param ply   how many moves from the root the position is
+     */
+    void visit(ChessBoard board, ChessGame.TeamColor turn, int ply);
+}
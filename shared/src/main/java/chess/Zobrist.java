@@ -0,0 +1,60 @@
+package chess;
+
+/**
+ * Random keys for Zobrist position hashing. A position's key is the XOR of the
+ * key for every (piece, square) pair on the board, plus {@link #blackToMove()}
+ * when it is black's turn, so making or taking back a move only needs a few
+ * XORs. Keys come from a fixed seed and are the same in every JVM.
+ */
+public final class Zobrist {
+    private static final int PIECE_TYPES = ChessPiece.PieceType.values().length;
+    private static final long[] PIECE_KEYS = new long[2 * PIECE_TYPES * 64];
+    private static final long BLACK_TO_MOVE;
+
+    static {
+        long seed = 0x2F6B1D3C5A4E9871L;
+        for (int i = 0; i < PIECE_KEYS.length; i++) {
+            seed = splitMix(seed);
+            PIECE_KEYS[i] = mix(seed);
+        }
+        BLACK_TO_MOVE = mix(splitMix(seed));
+    }
+
+    private Zobrist() {
+    }
+
+    /**
+     * @return the key for a piece of the given color and type standing on a square
+     */
+    public static long piece(ChessGame.TeamColor color, ChessPiece.PieceType type, int square) {
+        return PIECE_KEYS[((color.ordinal() * PIECE_TYPES) + type.ordinal()) * 64 + square];
+    }
+
+    public static long piece(ChessPiece piece, int square) {
+        return piece(piece.getTeamColor(), piece.getPieceType(), square);
+    }
+
+    /**
+     * @return the key XORed in when black is to move
+     */
+    public static long blackToMove() {
+        return BLACK_TO_MOVE;
+    }
+
+    /**
+     * @return the key XORed in for the given side to move
+     */
+    public static long sideToMove(ChessGame.TeamColor color) {
+        return color == ChessGame.TeamColor.BLACK ? BLACK_TO_MOVE : 0L;
+    }
+
+    private static long splitMix(long seed) {
+        return seed + 0x9E3779B97F4A7C15L;
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,159 @@
+package chess.engine;
+
+import chess.Bitboards;
+import chess.ChessBoard;
+import chess.ChessGame;
+import chess.ChessPiece;
+import chess.PieceSquareTables;
+
+/**
+ * Scores positions in centipawns from the point of view of the team to move.
+ * <p>
+ * Material and piece-square scores are kept up to date by the board as pieces
+ * move (see {@link ChessBoard#getMidgameScore()}), so evaluating a position
+ * only blends the midgame and endgame totals by phase and adds a few terms
+ * that take a handful of bit counts. Pawn-structure terms (doubled, isolated
+ * and passed pawns) cost more, so they are read from a {@link PawnHashTable}
+ * when one is given.
+ */
+public final class Evaluator {
+    static final int BISHOP_PAIR = 30;
+    static final int DOUBLED_MIDGAME = -10;
+    static final int DOUBLED_ENDGAME = -20;
+    static final int ISOLATED_MIDGAME = -10;
+    static final int ISOLATED_ENDGAME = -15;
+    // passed pawn bonus by row, counted from the pawn's own side of the board
+    static final int[] PASSED_MIDGAME = {0, 5, 5, 10, 20, 35, 60, 0};
+    static final int[] PASSED_ENDGAME = {0, 10, 15, 25, 45, 75, 120, 0};
+
+    /**
+     * Piece values in centipawns for ordering captures, indexed by
+     * {@link ChessPiece.PieceType} ordinal
+     */
+    static final int[] PIECE_VALUES = {
+            0,    // KING
+            900,  // QUEEN
+            330,  // BISHOP
+            320,  // KNIGHT
+            500,  // ROOK
+            100   // PAWN
+    };
+
+    private Evaluator() {
+    }
+
+    /**
+     * @return the score of the position, positive when the team to move is ahead
+     */
+    public static int evaluate(ChessBoard board, ChessGame.TeamColor turn) {
+        long pawns = pawnStructure(board);
+        return evaluate(board, turn, midgame(pawns), endgame(pawns));
+    }
+
+    /**
+     * Scores a position, reading the pawn-structure terms from the cache and
+     * storing them there on a miss
+     *
+     * @return the score of the position, positive when the team to move is ahead
+     */
+    public static int evaluate(ChessBoard board, ChessGame.TeamColor turn, PawnHashTable pawnTable) {
+        long pawnKey = board.getPawnKey();
+        int slot = pawnTable.probe(pawnKey);
+        if (slot < 0) {
+            long pawns = pawnStructure(board);
+            slot = pawnTable.store(pawnKey, midgame(pawns), endgame(pawns));
+        }
+        return evaluate(board, turn, pawnTable.midgame(slot), pawnTable.endgame(slot));
+    }
+
+    /**
+     * Scores doubled, isolated and passed pawns for both teams
+     *
+     * @return the midgame and endgame scores, white minus black, packed into
+     * the high and low halves of a long
+     */
+    static long pawnStructure(ChessBoard board) {
+        long white = board.getBitboard(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.PAWN);
+        long black = board.getBitboard(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.PAWN);
+        int midgame = 0;
+        int endgame = 0;
+        for (int column = 0; column < 8; column++) {
+            long file = Bitboards.COLUMN_1 << column;
+            long adjacent = (column > 0 ? file >>> 1 : 0) | (column < 7 ? file << 1 : 0);
+            int whiteCount = Bitboards.count(white & file);
+            int blackCount = Bitboards.count(black & file);
+            if (whiteCount > 1) {
+                midgame += DOUBLED_MIDGAME * (whiteCount - 1);
+                endgame += DOUBLED_ENDGAME * (whiteCount - 1);
+            }
+            if (blackCount > 1) {
+                midgame -= DOUBLED_MIDGAME * (blackCount - 1);
+                endgame -= DOUBLED_ENDGAME * (blackCount - 1);
+            }
+            if (whiteCount > 0 && (white & adjacent) == 0) {
+                midgame += ISOLATED_MIDGAME * whiteCount;
+                endgame += ISOLATED_ENDGAME * whiteCount;
+            }
+            if (blackCount > 0 && (black & adjacent) == 0) {
+                midgame -= ISOLATED_MIDGAME * blackCount;
+                endgame -= ISOLATED_ENDGAME * blackCount;
+            }
+        }
+        for (long pawns = white; pawns != 0; pawns &= pawns - 1) {
+            int square = Bitboards.first(pawns);
+            int row = Bitboards.row(square);
+            long ahead = row == 8 ? 0 : -1L << (row * 8);
+            if ((black & ahead & columnsAround(square)) == 0) {
+                midgame += PASSED_MIDGAME[row - 1];
+                endgame += PASSED_ENDGAME[row - 1];
+            }
+        }
+        for (long pawns = black; pawns != 0; pawns &= pawns - 1) {
+            int square = Bitboards.first(pawns);
+            int row = Bitboards.row(square);
+            long ahead = (1L << ((row - 1) * 8)) - 1;
+            if ((white & ahead & columnsAround(square)) == 0) {
+                midgame -= PASSED_MIDGAME[8 - row];
+                endgame -= PASSED_ENDGAME[8 - row];
+            }
+        }
+        return ((long) midgame << 32) | (endgame & 0xFFFFFFFFL);
+    }
+
+    private static int evaluate(ChessBoard board, ChessGame.TeamColor turn, int pawnMidgame, int pawnEndgame) {
+        int phase = Math.min(board.getPhase(), PieceSquareTables.MAX_PHASE);
+        int midgame = board.getMidgameScore() + pawnMidgame;
+        int endgame = board.getEndgameScore() + pawnEndgame;
+        int score = (midgame * phase + endgame * (PieceSquareTables.MAX_PHASE - phase)) / PieceSquareTables.MAX_PHASE;
+        score += bishopPair(board, ChessGame.TeamColor.WHITE) - bishopPair(board, ChessGame.TeamColor.BLACK);
+        return turn == ChessGame.TeamColor.WHITE ? score : -score;
+    }
+
+    /**
+     * @return the value of a piece type in centipawns
+     */
+    public static int value(ChessPiece.PieceType type) {
+        return PIECE_VALUES[type.ordinal()];
+    }
+
+    private static int midgame(long packed) {
+        return (int) (packed >> 32);
+    }
+
+    private static int endgame(long packed) {
+        return (int) packed;
+    }
+
+    /**
+     * @return the squares on a pawn's own and adjacent columns
+     */
+    private static long columnsAround(int square) {
+        int column = Bitboards.column(square) - 1;
+        long file = Bitboards.COLUMN_1 << column;
+        return file | (column > 0 ? file >>> 1 : 0) | (column < 7 ? file << 1 : 0);
+    }
+
+    private static int bishopPair(ChessBoard board, ChessGame.TeamColor color) {
+        return Bitboards.count(board.getBitboard(color, ChessPiece.PieceType.BISHOP)) >= 2 ? BISHOP_PAIR : 0;
+    }
+}
@@ -0,0 +1,200 @@
+package chess.engine;
+
+import chess.ChessGame;
+import chess.Fen;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Searches one position on several threads at once with Lazy SMP: every
+ * thread runs its own {@link Searcher} on the same root, and they cooperate
+ * only through a shared {@link TranspositionTable}. Helpers start at staggered
+ * depths and root move orders, so what one thread stores lets the others cut
+ * their trees short.
+ * <p>
+ * The calling thread runs the main search, whose result is returned; the
+ * helpers are stopped and awaited as soon as it finishes, including when it
+ * fails. Close the searcher to release its helper threads.
+ * <p>
+ * Command line: {@code java chess.engine.ParallelSearcher <depth> [fen]}
+ * prints nodes/s and time to depth for 1, 2, 4, ... threads up to the
+ * number of cores.
+ */
+public class ParallelSearcher implements AutoCloseable {
+    private final TranspositionTable table;
+    private final Searcher[] searchers;
+    private final ExecutorService helpers;
+
+    /**
+     * Uses one thread per available core and a table of the default size
+     */
+    public ParallelSearcher() {
+        this(Runtime.getRuntime().availableProcessors(), new TranspositionTable(Searcher.DEFAULT_TABLE_MEGABYTES));
+    }
+
+    /**
+     * @param threads the number of search threads, including the caller's
+     * @param table   the table shared by every thread
+     */
+    public ParallelSearcher(int threads, TranspositionTable table) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Need at least one search thread");
+        }
+        this.table = table;
+        searchers = new Searcher[threads];
+        for (int i = 0; i < threads; i++) {
+            searchers[i] = new Searcher(table);
+        }
+        AtomicInteger helperCount = new AtomicInteger();
+        helpers = threads > 1 ? Executors.newFixedThreadPool(threads - 1, runnable -> {
+            Thread thread = new Thread(runnable, "search-helper-" + helperCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }) : null;
+    }
+
+    /**
+     * Result of a fixed-depth search at a given thread count
+     *
+     * @param threads the number of search threads
+     * @param result  the main thread's result, with nodes counted over every thread
+     * @param speedup time to depth relative to the first run in the series
+     */
+    public record Scaling(int threads, SearchResult result, double speedup) {
+    }
+
+    public int threads() {
+        return searchers.length;
+    }
+
+    /**
+     * Searches the game's position on every thread until the main thread
+     * reaches a limit
+     *
+     * @param game   the position and team to move; it is not modified
+     * @param limits when to stop
+     * @return the main thread's best move and score, with the node count of
+     * every thread combined
+     */
+    public SearchResult search(ChessGame game, SearchLimits limits) {
+        table.newSearch();
+        List<Future<SearchResult>> running = new ArrayList<>();
+        for (int i = 1; i < searchers.length; i++) {
+            Searcher helper = searchers[i];
+            // copied on this thread, so helpers never read the caller's board
+            ChessGame copy = game.copy();
+            SearchLimits helperLimits = new SearchLimits(limits.maxDepth(), 0, 0);
+            int helperId = i;
+            helper.clearStop();
+            running.add(helpers.submit(() -> helper.search(copy, helperLimits, helperId)));
+        }
+
+        SearchResult main;
+        long helperNodes;
+        try {
+            searchers[0].clearStop();
+            main = searchers[0].search(game, limits, 0);
+        } finally {
+            for (int i = 1; i < searchers.length; i++) {
+                searchers[i].stop();
+            }
+            helperNodes = awaitHelpers(running);
+        }
+        return new SearchResult(main.bestMove(), main.score(), main.depth(), main.nodes() + helperNodes,
+                main.nanos());
+    }
+
+    /**
+     * Waits for stopped helpers to return, or cancels the rest if the
+     * calling thread is interrupted
+     *
+     * @return the nodes searched by the helpers that finished
+     */
+    private static long awaitHelpers(List<Future<SearchResult>> running) {
+        long nodes = 0;
+        Throwable failure = null;
+        for (int i = 0; i < running.size(); i++) {
+            try {
+                nodes += running.get(i).get().nodes();
+            } catch (InterruptedException e) {
+                for (int j = i; j < running.size(); j++) {
+                    running.get(j).cancel(true);
+                }
+                Thread.currentThread().interrupt();
+                break;
+            } catch (ExecutionException e) {
+                failure = e.getCause();
+            }
+        }
+        if (failure != null) {
+            throw new IllegalStateException("Search helper failed", failure);
+        }
+        return nodes;
+    }
+
+    /**
+     * Stops every thread of a running search
+     */
+    public void stop() {
+        for (Searcher searcher : searchers) {
+            searcher.stop();
+        }
+    }
+
+    @Override
+    public void close() {
+        if (helpers != null) {
+            stop();
+            helpers.shutdownNow();
+        }
+    }
+
+    /**
+     * Searches the same position to a fixed depth with increasing thread
+     * counts, each with a fresh table of the given size
+     *
+     * @return one result per thread count, with speedups relative to the first
+     */
+    public static List<Scaling> scaling(ChessGame game, int depth, int megabytes, int... threadCounts) {
+        List<Scaling> results = new ArrayList<>();
+        long baseNanos = 0;
+        for (int threads : threadCounts) {
+            try (ParallelSearcher searcher = new ParallelSearcher(threads, new TranspositionTable(megabytes))) {
+                SearchResult result = searcher.search(game, SearchLimits.depth(depth));
+                if (baseNanos == 0) {
+                    baseNanos = Math.max(result.nanos(), 1);
+                }
+                results.add(new Scaling(threads, result, (double) baseNanos / Math.max(result.nanos(), 1)));
+            }
+        }
+        return results;
+    }
+
+    public static void main(String[] args) {
+        if (args.length < 1) {
+            System.err.println("usage: ParallelSearcher <depth> [fen]");
+            System.exit(2);
+        }
+        int depth = Integer.parseInt(args[0]);
+        ChessGame game = Fen.parse(args.length > 1 ? args[1] : Fen.START_POSITION);
+        List<Integer> counts = new ArrayList<>();
+        int cores = Runtime.getRuntime().availableProcessors();
+        for (int threads = 1; threads < cores; threads *= 2) {
+            counts.add(threads);
+        }
+        counts.add(cores);
+        int[] threadCounts = counts.stream().mapToInt(Integer::intValue).toArray();
+        for (Scaling scaling : scaling(game, depth, Searcher.DEFAULT_TABLE_MEGABYTES, threadCounts)) {
+            SearchResult result = scaling.result();
+            System.out.printf("threads %2d  depth %d  nodes %,d  time %d ms  %,d nodes/s  speedup %.2fx%n",
+                    scaling.threads(), result.depth(), result.nodes(), result.nanos() / 1_000_000,
+                    result.nodesPerSecond(), scaling.speedup());
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package chess.engine;
+
+import java.util.Arrays;
+
+/**
+ * A small cache of pawn-structure scores keyed by the board's pawn key (see
+ * {@link chess.ChessBoard#getPawnKey()}). Pawns move rarely compared with the
+ * other pieces, so most evaluations in a search find their pawn terms here.
+ * <p>
+ * Each entry overwrites whatever was in its slot. A table is not thread-safe;
+ * every {@link Searcher} keeps its own.
+ */
+public final class PawnHashTable {
+    public static final int DEFAULT_ENTRIES = 1 << 14;
+
+    private final long[] keys;
+    private final int[] midgame;
+    private final int[] endgame;
+    private final int mask;
+    private long probes;
+    private long hits;
+
+    /**
+     * @param entries the number of entries; rounded down to a power of two
+     */
+    public PawnHashTable(int entries) {
+        if (entries <= 0) {
+            throw new IllegalArgumentException("Pawn hash table needs at least one entry");
+        }
+        int size = Integer.highestOneBit(entries);
+        keys = new long[size];
+        midgame = new int[size];
+        endgame = new int[size];
+        mask = size - 1;
+        // a zero pawn key is a real position (no pawns), so mark empty slots with a key of -1 instead
+        Arrays.fill(keys, -1L);
+    }
+
+    /**
+     * Looks up a pawn structure
+     *
+     * @param pawnKey the board's pawn key
+     * @return the slot holding its scores, or -1 if it is not stored
+     */
+    public int probe(long pawnKey) {
+        probes++;
+        int slot = (int) pawnKey & mask;
+        if (keys[slot] == pawnKey) {
+            hits++;
+            return slot;
+        }
+        return -1;
+    }
+
+    /**
+     * Stores the scores of a pawn structure
+     *
+     * @return the slot the scores were stored in
+     */
+    public int store(long pawnKey, int midgameScore, int endgameScore) {
+        int slot = (int) pawnKey & mask;
+        keys[slot] = pawnKey;
+        midgame[slot] = midgameScore;
+        endgame[slot] = endgameScore;
+        return slot;
+    }
+
+    public int midgame(int slot) {
+        return midgame[slot];
+    }
+
+    public int endgame(int slot) {
+        return endgame[slot];
+    }
+
+    /**
+     * @return the fraction of probes since the last reset that found their entry
+     */
+    public double hitRate() {
+        return probes == 0 ? 0 : (double) hits / probes;
+    }
+
+    public void resetStatistics() {
+        probes = 0;
+        hits = 0;
+    }
+}
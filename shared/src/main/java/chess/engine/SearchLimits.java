@@ -0,0 +1,29 @@
+package chess.engine;
+
+/**
+ * Bounds on how long a {@link Searcher} may think. The search stops at
+ * whichever limit is reached first; a limit of zero means no limit.
+ *
+ * @param maxDepth  the deepest iteration to start, in plies
+ * @param maxNodes  the number of positions to visit
+ * @param maxMillis the wall-clock time to use
+ */
+public record SearchLimits(int maxDepth, long maxNodes, long maxMillis) {
+    public SearchLimits {
+        if (maxDepth <= 0 || maxDepth > Searcher.MAX_PLY) {
+            maxDepth = Searcher.MAX_PLY;
+        }
+    }
+
+    public static SearchLimits depth(int maxDepth) {
+        return new SearchLimits(maxDepth, 0, 0);
+    }
+
+    public static SearchLimits nodes(long maxNodes) {
+        return new SearchLimits(0, maxNodes, 0);
+    }
+
+    public static SearchLimits millis(long maxMillis) {
+        return new SearchLimits(0, 0, maxMillis);
+    }
+}
@@ -0,0 +1,26 @@
+package chess.engine;
+
+import chess.ChessMove;
+
+/**
+ * Outcome of a {@link Searcher} run
+ *
+ * @param bestMove the move to play, or null if the team to move has none
+ * @param score    the score of the best move in centipawns for the team to move;
+ *                 scores beyond {@link Searcher#MATE_BOUND} mean a forced mate
+ * @param depth    the deepest iteration that finished
+ * @param nodes    the number of positions visited
+ * @param nanos    the time taken
+ */
+public record SearchResult(ChessMove bestMove, int score, int depth, long nodes, long nanos) {
+    public long nodesPerSecond() {
+        return nanos == 0 ? 0 : nodes * 1_000_000_000L / nanos;
+    }
+
+    /**
+     * @return True if the score is a forced mate for either side
+     */
+    public boolean isMate() {
+        return Math.abs(score) >= Searcher.MATE_BOUND;
+    }
+}
@@ -0,0 +1,415 @@
+package chess.engine;
+
+import chess.ChessBoard;
+import chess.ChessGame;
+import chess.ChessPiece;
+import chess.MoveGenerator;
+import chess.MoveList;
+import chess.PackedMove;
+import chess.Zobrist;
+
+import java.util.Arrays;
+
+/**
+ * Picks a move for the team to move with iterative-deepening alpha-beta
+ * (negamax) search and a capture-only quiescence search at the leaves.
+ * <p>
+ * Moves are tried best-first: the previous iteration's best move at the root,
+ * then captures by most valuable victim and least valuable attacker, then the
+ * two killer moves of the ply, then quiet moves by history score. Results are
+ * kept in a {@link TranspositionTable}, which cuts off positions reached again
+ * by another move order and supplies the first move to try in the rest.
+ * <p>
+ * A searcher reuses its move lists and tables between searches, so it runs one
+ * search at a time; {@link #stop()} may be called from any thread. The game
+ * passed to {@link #search} is never modified.
+ */
+public class Searcher {
+    public static final int MAX_PLY = 64;
+    public static final int INFINITY = 32_000;
+    public static final int MATE = 31_000;
+    /**
+     * Scores at least this far from zero are forced mates
+     */
+    public static final int MATE_BOUND = MATE - 2 * MAX_PLY;
+
+    public static final int DEFAULT_TABLE_MEGABYTES = 16;
+
+    private static final int CHECK_INTERVAL = 1024;
+    private static final int HASH_MOVE_SCORE = 1 << 30;
+    private static final int CAPTURE_SCORE = 1 << 26;
+    private static final int PROMOTION_SCORE = 1 << 25;
+    private static final int KILLER_SCORE = 1 << 24;
+    private static final int HISTORY_LIMIT = 1 << 20;
+
+    private final MoveList[] moveLists = new MoveList[MAX_PLY + 1];
+    private final int[][] moveScores = new int[MAX_PLY + 1][];
+    private final int[][] killers = new int[MAX_PLY + 1][2];
+    private final int[][] history = new int[64][64];
+    private final int[] exchangeGains = new int[StaticExchange.MAX_EXCHANGES];
+    private final TranspositionTable table;
+    private final PawnHashTable pawnTable = new PawnHashTable(PawnHashTable.DEFAULT_ENTRIES);
+
+    private volatile boolean stopRequested;
+    private ChessBoard board;
+    private long nodes;
+    private long nodeLimit;
+    private long deadline;
+    private boolean canAbort;
+    private boolean aborted;
+    private int rootBestMove;
+
+    public Searcher() {
+        this(new TranspositionTable(DEFAULT_TABLE_MEGABYTES));
+    }
+
+    /**
+     * @param table the transposition table to read and fill; it may be shared
+     *              with other searchers
+     */
+    public Searcher(TranspositionTable table) {
+        this.table = table;
+        for (int ply = 0; ply <= MAX_PLY; ply++) {
+            moveLists[ply] = new MoveList();
+            moveScores[ply] = new int[64];
+        }
+    }
+
+    /**
+     * Searches the game's position until a limit is reached. The first
+     * iteration always finishes, so a move is returned whenever one exists.
+     *
+     * @param game   the position and team to move
+     * @param limits when to stop
+     * @return the best move found and its score
+     */
+    public SearchResult search(ChessGame game, SearchLimits limits) {
+        stopRequested = false;
+        table.newSearch();
+        return search(game, limits, 0);
+    }
+
+    /**
+     * Runs a search without starting a new table age or clearing an earlier
+     * {@link #stop()} request, for use as one thread of a {@link ParallelSearcher}.
+     * Helpers (any id but 0) begin at a staggered depth, try root moves in a
+     * rotated order and may be stopped during their first iteration, so they
+     * fill the shared table with different parts of the tree than the main thread.
+     *
+     * @param helperId 0 for the main thread, otherwise the helper's number
+     */
+    SearchResult search(ChessGame game, SearchLimits limits, int helperId) {
+        long start = System.nanoTime();
+        board = game.getBoard().clone();
+        ChessGame.TeamColor turn = game.getTeamTurn();
+        nodes = 0;
+        nodeLimit = limits.maxNodes() > 0 ? limits.maxNodes() : Long.MAX_VALUE;
+        deadline = limits.maxMillis() > 0 ? start + limits.maxMillis() * 1_000_000L : Long.MAX_VALUE;
+        canAbort = helperId != 0;
+        aborted = false;
+        clearTables();
+
+        MoveList rootMoves = new MoveList();
+        MoveGenerator.legalMoves(board, turn, rootMoves);
+        if (rootMoves.isEmpty()) {
+            int score = inCheck(turn) ? -MATE : 0;
+            return new SearchResult(null, score, 0, 0, System.nanoTime() - start);
+        }
+
+        // rotate the root moves so each helper starts on a different one
+        for (int i = 0; i < helperId % rootMoves.size(); i++) {
+            for (int j = 0; j < rootMoves.size() - 1; j++) {
+                rootMoves.swap(j, j + 1);
+            }
+        }
+
+        int bestMove = rootMoves.get(0);
+        int bestScore = 0;
+        int completedDepth = 0;
+        for (int depth = 1 + helperId % 2; depth <= limits.maxDepth(); depth++) {
+            int score = searchRoot(turn, depth, rootMoves);
+            if (aborted) {
+                break;
+            }
+            bestMove = rootBestMove;
+            bestScore = score;
+            completedDepth = depth;
+            canAbort = true;
+            if (rootMoves.size() == 1 || Math.abs(score) >= MATE_BOUND) {
+                break;
+            }
+        }
+        return new SearchResult(PackedMove.toChessMove(bestMove), bestScore, completedDepth, nodes,
+                System.nanoTime() - start);
+    }
+
+    /**
+     * Asks a running search to return as soon as possible with the best move
+     * of its last finished iteration
+     */
+    public void stop() {
+        stopRequested = true;
+    }
+
+    /**
+     * @return this searcher's pawn-structure cache, for reading its hit rate
+     */
+    public PawnHashTable pawnTable() {
+        return pawnTable;
+    }
+
+    void clearStop() {
+        stopRequested = false;
+    }
+
+    /**
+     * Searches every root move to the given depth, then moves the best one to
+     * the front so the next iteration tries it first
+     */
+    private int searchRoot(ChessGame.TeamColor turn, int depth, MoveList rootMoves) {
+        int alpha = -INFINITY;
+        int best = 0;
+        for (int i = 0; i < rootMoves.size(); i++) {
+            int move = rootMoves.get(i);
+            ChessPiece captured = board.makeMove(move);
+            int score = -negamax(opponent(turn), depth - 1, 1, -INFINITY, -alpha);
+            board.unmakeMove(move, captured);
+            if (aborted) {
+                break;
+            }
+            if (score > alpha) {
+                alpha = score;
+                best = i;
+            }
+        }
+        rootBestMove = rootMoves.get(best);
+        for (int i = best; i > 0; i--) {
+            rootMoves.swap(i, i - 1);
+        }
+        return alpha;
+    }
+
+    private int negamax(ChessGame.TeamColor turn, int depth, int ply, int alpha, int beta) {
+        boolean inCheck = inCheck(turn);
+        if (inCheck) {
+            depth++;
+        }
+        if (depth <= 0) {
+            return quiescence(turn, ply, alpha, beta);
+        }
+        if (countNode()) {
+            return 0;
+        }
+        if (ply >= MAX_PLY) {
+            return Evaluator.evaluate(board, turn, pawnTable);
+        }
+
+        long key = board.getZobristKey() ^ Zobrist.sideToMove(turn);
+        long entry = table.probe(key);
+        int hashMove = PackedMove.NONE;
+        if (entry != 0) {
+            hashMove = TranspositionTable.move(entry);
+            if (TranspositionTable.depth(entry) >= depth) {
+                int score = TranspositionTable.scoreFromTable(TranspositionTable.score(entry), ply);
+                int bound = TranspositionTable.bound(entry);
+                if (bound == TranspositionTable.EXACT
+                        || (bound == TranspositionTable.LOWER && score >= beta)
+                        || (bound == TranspositionTable.UPPER && score <= alpha)) {
+                    return score;
+                }
+            }
+        }
+
+        MoveList moves = moveLists[ply];
+        moves.clear();
+        MoveGenerator.legalMoves(board, turn, moves);
+        if (moves.isEmpty()) {
+            return inCheck ? -MATE + ply : 0;
+        }
+        int[] scores = scoreMoves(moves, ply, hashMove);
+
+        int originalAlpha = alpha;
+        int best = -INFINITY;
+        int bestMove = PackedMove.NONE;
+        for (int i = 0; i < moves.size(); i++) {
+            int move = pickNext(moves, scores, i);
+            ChessPiece captured = board.makeMove(move);
+            int score = -negamax(opponent(turn), depth - 1, ply + 1, -beta, -alpha);
+            board.unmakeMove(move, captured);
+            if (aborted) {
+                return 0;
+            }
+            if (score > best) {
+                best = score;
+                bestMove = move;
+                if (score > alpha) {
+                    alpha = score;
+                    if (alpha >= beta) {
+                        if (!PackedMove.isCapture(move)) {
+                            rememberQuietCutoff(move, depth, ply);
+                        }
+                        break;
+                    }
+                }
+            }
+        }
+        int bound = best >= beta ? TranspositionTable.LOWER
+                : best > originalAlpha ? TranspositionTable.EXACT : TranspositionTable.UPPER;
+        table.store(key, bound == TranspositionTable.UPPER ? PackedMove.NONE : bestMove,
+                TranspositionTable.scoreToTable(best, ply), depth, bound);
+        return best;
+    }
+
+    /**
+     * Searches captures only until the position is quiet, so the leaves of the
+     * main search are not scored in the middle of an exchange. Captures that
+     * {@link StaticExchange} says lose material are skipped. In check every
+     * evasion is searched instead, since standing pat is not an option.
+     */
+    private int quiescence(ChessGame.TeamColor turn, int ply, int alpha, int beta) {
+        if (countNode()) {
+            return 0;
+        }
+        boolean inCheck = inCheck(turn);
+        if (ply >= MAX_PLY) {
+            return Evaluator.evaluate(board, turn, pawnTable);
+        }
+        if (!inCheck) {
+            int standPat = Evaluator.evaluate(board, turn, pawnTable);
+            if (standPat >= beta) {
+                return standPat;
+            }
+            alpha = Math.max(alpha, standPat);
+        }
+
+        MoveList moves = moveLists[ply];
+        moves.clear();
+        if (inCheck) {
+            MoveGenerator.legalMoves(board, turn, moves);
+            if (moves.isEmpty()) {
+                return -MATE + ply;
+            }
+        } else {
+            MoveGenerator.legalCaptures(board, turn, moves);
+        }
+        int[] scores = scoreMoves(moves, ply, PackedMove.NONE);
+
+        for (int i = 0; i < moves.size(); i++) {
+            int move = pickNext(moves, scores, i);
+            if (!inCheck && StaticExchange.evaluate(board, move, exchangeGains) < 0) {
+                // a capture that loses material once recaptured cannot beat standing pat
+                continue;
+            }
+            ChessPiece captured = board.makeMove(move);
+            int score = -quiescence(opponent(turn), ply + 1, -beta, -alpha);
+            board.unmakeMove(move, captured);
+            if (aborted) {
+                return 0;
+            }
+            if (score >= beta) {
+                return score;
+            }
+            alpha = Math.max(alpha, score);
+        }
+        return alpha;
+    }
+
+    /**
+     * Counts a node and checks the limits every {@link #CHECK_INTERVAL} nodes
+     *
+     * @return True if the search should unwind
+     */
+    private boolean countNode() {
+        nodes++;
+        if (canAbort && !aborted && ((nodes & (CHECK_INTERVAL - 1)) == 0 || nodes >= nodeLimit)) {
+            aborted = stopRequested || nodes >= nodeLimit || System.nanoTime() >= deadline;
+        }
+        return aborted;
+    }
+
+    private int[] scoreMoves(MoveList moves, int ply, int hashMove) {
+        int[] scores = moveScores[ply];
+        if (scores.length < moves.size()) {
+            scores = new int[moves.size() * 2];
+            moveScores[ply] = scores;
+        }
+        for (int i = 0; i < moves.size(); i++) {
+            int move = moves.get(i);
+            int from = PackedMove.from(move);
+            int to = PackedMove.to(move);
+            int score;
+            if ((move & ~PackedMove.CAPTURE) == (hashMove & ~PackedMove.CAPTURE) && hashMove != PackedMove.NONE) {
+                score = HASH_MOVE_SCORE;
+            } else if (PackedMove.isCapture(move)) {
+                // most valuable victim first, least valuable attacker breaking ties
+                score = CAPTURE_SCORE + Evaluator.value(board.getPiece(to).getPieceType()) * 16
+                        - Evaluator.value(board.getPiece(from).getPieceType()) / 16;
+            } else if (PackedMove.isPromotion(move)) {
+                score = PROMOTION_SCORE + Evaluator.value(PackedMove.promotion(move));
+            } else if (move == killers[ply][0]) {
+                score = KILLER_SCORE + 1;
+            } else if (move == killers[ply][1]) {
+                score = KILLER_SCORE;
+            } else {
+                score = history[from][to];
+            }
+            scores[i] = score;
+        }
+        return scores;
+    }
+
+    /**
+     * Swaps the highest scored move at or after index into index, so only as
+     * many moves are sorted as are searched before a cutoff
+     */
+    private static int pickNext(MoveList moves, int[] scores, int index) {
+        int best = index;
+        for (int i = index + 1; i < moves.size(); i++) {
+            if (scores[i] > scores[best]) {
+                best = i;
+            }
+        }
+        if (best != index) {
+            moves.swap(index, best);
+            int score = scores[index];
+            scores[index] = scores[best];
+            scores[best] = score;
+        }
+        return moves.get(index);
+    }
+
+    private void rememberQuietCutoff(int move, int depth, int ply) {
+        if (killers[ply][0] != move) {
+            killers[ply][1] = killers[ply][0];
+            killers[ply][0] = move;
+        }
+        int[] row = history[PackedMove.from(move)];
+        row[PackedMove.to(move)] += depth * depth;
+        if (row[PackedMove.to(move)] >= HISTORY_LIMIT) {
+            for (int[] fromRow : history) {
+                for (int to = 0; to < fromRow.length; to++) {
+                    fromRow[to] /= 2;
+                }
+            }
+        }
+    }
+
+    private void clearTables() {
+        for (int[] plyKillers : killers) {
+            plyKillers[0] = PackedMove.NONE;
+            plyKillers[1] = PackedMove.NONE;
+        }
+        for (int[] fromRow : history) {
+            Arrays.fill(fromRow, 0);
+        }
+    }
+
+    private boolean inCheck(ChessGame.TeamColor turn) {
+        int kingSquare = board.getKingSquare(turn);
+        return kingSquare < 0 || board.isSquareAttacked(kingSquare, opponent(turn));
+    }
+
+    private static ChessGame.TeamColor opponent(ChessGame.TeamColor color) {
+        return color == ChessGame.TeamColor.WHITE ? ChessGame.TeamColor.BLACK : ChessGame.TeamColor.WHITE;
+    }
+}
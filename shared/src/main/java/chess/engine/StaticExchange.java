@@ -0,0 +1,144 @@
+package chess.engine;
+
+import chess.Attacks;
+import chess.Bitboards;
+import chess.ChessBoard;
+import chess.ChessGame;
+import chess.ChessMove;
+import chess.ChessPiece;
+import chess.MoveGenerator;
+import chess.PackedMove;
+
+/**
+ * Static exchange evaluation: the material a capture wins or loses once both
+ * teams have made every profitable recapture on its square.
+ * <p>
+ * The exchange is played out on attack bitsets rather than on the board.
+ * Each side recaptures with its least valuable attacker, and removing an
+ * attacker from the occupancy uncovers any rook, bishop or queen behind it
+ * (x-rays). Either side may stop capturing when continuing would lose
+ * material. Pins are not considered.
+ */
+public final class StaticExchange {
+    private static final ChessPiece.PieceType[] CHEAPEST_FIRST = {
+            ChessPiece.PieceType.PAWN, ChessPiece.PieceType.KNIGHT, ChessPiece.PieceType.BISHOP,
+            ChessPiece.PieceType.ROOK, ChessPiece.PieceType.QUEEN, ChessPiece.PieceType.KING
+    };
+    /**
+     * The length of the scratch buffer {@link #evaluate(ChessBoard, int, int[])} needs
+     */
+    public static final int MAX_EXCHANGES = 32;
+    private static final ThreadLocal<int[]> GAINS = ThreadLocal.withInitial(() -> new int[MAX_EXCHANGES]);
+
+    private StaticExchange() {
+    }
+
+    /**
+     * @param board the position before the move
+     * @param move  a {@link PackedMove} for the team whose piece stands on its start square
+     * @return the net material in centipawns for the moving team; negative if
+     * the move loses material
+     */
+    public static int evaluate(ChessBoard board, int move) {
+        return evaluate(board, move, GAINS.get());
+    }
+
+    /**
+     * Evaluates the exchange using the caller's scratch buffer, for callers
+     * such as a searcher that run it for many captures on one thread
+     *
+     * @param gain a buffer of at least {@link #MAX_EXCHANGES} ints; its contents are overwritten
+     * @return the net material in centipawns for the moving team
+     */
+    public static int evaluate(ChessBoard board, int move, int[] gain) {
+        int from = PackedMove.from(move);
+        int to = PackedMove.to(move);
+        ChessPiece mover = board.getPiece(from);
+        ChessPiece target = board.getPiece(to);
+        ChessPiece.PieceType promotion = PackedMove.promotion(move);
+
+        gain[0] = target == null ? 0 : Evaluator.value(target.getPieceType());
+        int onSquare = Evaluator.value(mover.getPieceType());
+        if (promotion != null) {
+            gain[0] += Evaluator.value(promotion) - Evaluator.value(ChessPiece.PieceType.PAWN);
+            onSquare = Evaluator.value(promotion);
+        }
+
+        long diagonal = sliders(board, ChessPiece.PieceType.BISHOP);
+        long straight = sliders(board, ChessPiece.PieceType.ROOK);
+        long occupied = board.getOccupiedBitboard();
+        long attackers = MoveGenerator.attackersTo(board, to, ChessGame.TeamColor.WHITE, occupied)
+                | MoveGenerator.attackersTo(board, to, ChessGame.TeamColor.BLACK, occupied);
+        ChessGame.TeamColor side = mover.getTeamColor();
+        int depth = 0;
+        int capturer = from;
+
+        while (depth < MAX_EXCHANGES - 1) {
+            // the last capturer leaves its square, which may uncover a slider behind it
+            occupied &= ~Bitboards.bit(capturer);
+            attackers |= (Attacks.rook(to, occupied) & straight) | (Attacks.bishop(to, occupied) & diagonal);
+            attackers &= occupied;
+            side = opponent(side);
+
+            long own = attackers & board.getTeamBitboard(side);
+            if (own == 0) {
+                break;
+            }
+            ChessPiece.PieceType type = cheapest(board, side, own);
+            long next = own & board.getBitboard(side, type);
+            if (type == ChessPiece.PieceType.KING && (attackers & board.getTeamBitboard(opponent(side))) != 0) {
+                // the king cannot recapture onto a square that is still attacked
+                break;
+            }
+            depth++;
+            gain[depth] = onSquare - gain[depth - 1];
+            if (Math.max(-gain[depth - 1], gain[depth]) < 0) {
+                // neither capturing nor stopping changes the outcome from here
+                break;
+            }
+            onSquare = Evaluator.value(type);
+            capturer = Bitboards.first(next);
+        }
+        for (; depth > 0; depth--) {
+            gain[depth - 1] = -Math.max(-gain[depth - 1], gain[depth]);
+        }
+        return gain[0];
+    }
+
+    /**
+     * @return the net material in centipawns for the team making the move
+     */
+    public static int evaluate(ChessBoard board, ChessMove move) {
+        return evaluate(board, PackedMove.fromChessMove(move));
+    }
+
+    /**
+     * @return True if the move wins at least the given material once the exchange is over
+     */
+    public static boolean atLeast(ChessBoard board, int move, int threshold) {
+        return evaluate(board, move) >= threshold;
+    }
+
+    private static ChessPiece.PieceType cheapest(ChessBoard board, ChessGame.TeamColor side, long candidates) {
+        for (ChessPiece.PieceType type : CHEAPEST_FIRST) {
+            if ((candidates & board.getBitboard(side, type)) != 0) {
+                return type;
+            }
+        }
+        throw new IllegalStateException("Attacker set holds no pieces");
+    }
+
+    /**
+     * @return both teams' pieces of the given slider type, plus their queens
+     */
+    private static long sliders(ChessBoard board, ChessPiece.PieceType type) {
+        return board.getBitboard(ChessGame.TeamColor.WHITE, type)
+                | board.getBitboard(ChessGame.TeamColor.BLACK, type)
+                | board.getBitboard(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.QUEEN)
+                | board.getBitboard(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.QUEEN);
+    }
+
+    private static ChessGame.TeamColor opponent(ChessGame.TeamColor color) {
+        return color == ChessGame.TeamColor.WHITE ? ChessGame.TeamColor.BLACK : ChessGame.TeamColor.WHITE;
+    }
+}
@@ -0,0 +1,203 @@
+package chess.engine;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+
+/**
+ * A fixed-size hash table of search results keyed by position, shared by any
+ * number of search threads without locking.
+ * <p>
+ * Each entry is two longs: the packed data and the position key XOR the data.
+ * A reader recomputes the key from both halves, so an entry torn by two
+ * threads writing at once fails the check and reads as a miss instead of
+ * returning another position's data. Entries live in buckets of two; a new
+ * result replaces the entry left by an older search first, then the one
+ * searched to the lower depth.
+ * <pre>
+ * data bits  0-15  best move ({@link chess.PackedMove})
+ *           16-31  score + 32768
+ *           32-39  depth
+ *           40-41  bound: {@link #UPPER}, {@link #LOWER} or {@link #EXACT}
+ *           42-49  age of the search that stored it
+ * </pre>
+ */
+public final class TranspositionTable {
+    /**
+     * The score is at most this value; every move failed low
+     */
+    public static final int UPPER = 1;
+    /**
+     * The score is at least this value; a move failed high
+     */
+    public static final int LOWER = 2;
+    public static final int EXACT = 3;
+
+    private static final VarHandle SLOTS = MethodHandles.arrayElementVarHandle(long[].class);
+    private static final int BUCKET_SIZE = 2;
+    private static final int ENTRY_BYTES = 16;
+
+    private final long[] slots;
+    private final int bucketMask;
+    private volatile int age;
+
+    /**
+     * @param megabytes the memory to use; the entry count is rounded down to a power of two
+     */
+    public TranspositionTable(int megabytes) {
+        if (megabytes <= 0) {
+            throw new IllegalArgumentException("Transposition table needs at least 1 MB");
+        }
+        long entries = Long.highestOneBit((long) megabytes * 1024 * 1024 / ENTRY_BYTES);
+        long buckets = Math.min(entries / BUCKET_SIZE, 1L << 26);
+        slots = new long[(int) buckets * BUCKET_SIZE * 2];
+        bucketMask = (int) buckets - 1;
+    }
+
+    /**
+     * Looks up a position
+     *
+     * @param key the position's Zobrist key, including the side to move
+     * @return the packed entry data, or 0 if the position is not stored
+     */
+    public long probe(long key) {
+        int base = bucket(key);
+        for (int i = 0; i < BUCKET_SIZE; i++) {
+            int slot = base + i * 2;
+            long data = (long) SLOTS.getOpaque(slots, slot);
+            long check = (long) SLOTS.getOpaque(slots, slot + 1);
+            if (data != 0 && (check ^ data) == key) {
+                return data;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Stores a search result, replacing the least useful entry in its bucket
+     *
+     * @param key   the position's Zobrist key, including the side to move
+     * @param move  the best move found, or {@link chess.PackedMove#NONE}
+     * @param score the score, already adjusted with {@link #scoreToTable}
+     * @param depth the depth searched
+     * @param bound whether the score is exact or a bound
+     */
+    public void store(long key, int move, int score, int depth, int bound) {
+        int base = bucket(key);
+        int currentAge = age;
+        int target = base;
+        int worst = Integer.MAX_VALUE;
+        for (int i = 0; i < BUCKET_SIZE; i++) {
+            int slot = base + i * 2;
+            long data = (long) SLOTS.getOpaque(slots, slot);
+            long check = (long) SLOTS.getOpaque(slots, slot + 1);
+            if (data == 0 || (check ^ data) == key) {
+                if (data != 0 && move == 0) {
+                    // keep the old best move for ordering if this search found none
+                    move = move(data);
+                }
+                target = slot;
+                break;
+            }
+            // entries from earlier searches go first, then shallower ones
+            int value = depth(data) - (age(data) == currentAge ? 0 : 256);
+            if (value < worst) {
+                worst = value;
+                target = slot;
+            }
+        }
+        long data = (move & 0xFFFFL)
+                | ((long) (score + 32768) & 0xFFFF) << 16
+                | ((long) Math.min(Math.max(depth, 0), 255)) << 32
+                | ((long) bound) << 40
+                | ((long) (currentAge & 0xFF)) << 42;
+        SLOTS.setOpaque(slots, target, data);
+        SLOTS.setOpaque(slots, target + 1, key ^ data);
+    }
+
+    /**
+     * Marks the start of a new search so entries from older searches are
+     * replaced first
+     */
+    public void newSearch() {
+        age = (age + 1) & 0xFF;
+    }
+
+    public void clear() {
+        Arrays.fill(slots, 0);
+        age = 0;
+    }
+
+    /**
+     * @return the number of entries, in thousandths, filled by the current
+     * search, estimated from the first thousand entries
+     */
+    public int hashfull() {
+        int sampled = Math.min(1000, slots.length / 2);
+        int used = 0;
+        for (int i = 0; i < sampled; i++) {
+            long data = (long) SLOTS.getOpaque(slots, i * 2);
+            if (data != 0 && age(data) == age) {
+                used++;
+            }
+        }
+        return sampled == 0 ? 0 : used * 1000 / sampled;
+    }
+
+    public int capacity() {
+        return slots.length / 2;
+    }
+
+    public static int move(long data) {
+        return (int) (data & 0xFFFF);
+    }
+
+    public static int score(long data) {
+        return (int) ((data >>> 16) & 0xFFFF) - 32768;
+    }
+
+    public static int depth(long data) {
+        return (int) ((data >>> 32) & 0xFF);
+    }
+
+    public static int bound(long data) {
+        return (int) ((data >>> 40) & 0x3);
+    }
+
+    /**
+     * Mate scores count plies from the root, but an entry can be read at any
+     * ply, so they are stored counting from the entry's own position
+     *
+     * @return the score to store for a position the given number of plies from the root
+     */
+    public static int scoreToTable(int score, int ply) {
+        if (score >= Searcher.MATE_BOUND) {
+            return score + ply;
+        }
+        if (score <= -Searcher.MATE_BOUND) {
+            return score - ply;
+        }
+        return score;
+    }
+
+    /**
+     * @return a stored score converted back to count mate distance from the root
+     */
+    public static int scoreFromTable(int score, int ply) {
+        if (score >= Searcher.MATE_BOUND) {
+            return score - ply;
+        }
+        if (score <= -Searcher.MATE_BOUND) {
+            return score + ply;
+        }
+        return score;
+    }
+
+    private static int age(long data) {
+        return (int) ((data >>> 42) & 0xFF);
+    }
+
+    private int bucket(long key) {
+        return ((int) (key ^ (key >>> 32)) & bucketMask) * BUCKET_SIZE * 2;
+    }
+}
@@ -0,0 +1,47 @@
+package chess;
+
+import com.google.gson.Gson;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class GameCodecTests {
+
+    @Test
+    @DisplayName("Round Trip")
+    public void roundTrip() {
+        for (String fen : new String[] {Fen.START_POSITION, PerftTests.PROMOTIONS, PerftTests.ROOK_ENDGAME,
+                PerftTests.TACTICAL}) {
+            ChessGame game = Fen.parse(fen);
+            ChessGame decoded = GameCodec.decode(GameCodec.encode(game));
+            Assertions.assertEquals(game.getBoard(), decoded.getBoard(), fen);
+            Assertions.assertEquals(game.getTeamTurn(), decoded.getTeamTurn(), fen);
+            Assertions.assertFalse(decoded.gameOver(), fen);
+        }
+    }
+
+    @Test
+    @DisplayName("Game Over Flag")
+    public void gameOverFlag() {
+        ChessGame game = new ChessGame();
+        game.setGameOver(true);
+        Assertions.assertTrue(GameCodec.decode(GameCodec.encode(game)).gameOver());
+    }
+
+    @Test
+    @DisplayName("Smaller Than JSON")
+    public void smallerThanJson() {
+        ChessGame game = new ChessGame();
+        Assertions.assertEquals(GameCodec.LENGTH, GameCodec.encode(game).length);
+        Assertions.assertTrue(new Gson().toJson(game).length() > 10 * GameCodec.LENGTH);
+    }
+
+    @Test
+    @DisplayName("Rejects Unknown Format")
+    public void rejectsUnknownFormat() {
+        byte[] bytes = GameCodec.encode(new ChessGame());
+        bytes[0] = GameCodec.VERSION + 1;
+        Assertions.assertThrows(IllegalArgumentException.class, () -> GameCodec.decode(bytes));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> GameCodec.decode(new byte[3]));
+    }
+}
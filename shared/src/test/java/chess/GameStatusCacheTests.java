@@ -0,0 +1,63 @@
+package chess;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * evaluateStatus answers from a cheaper path than the move list when the
+ * moves have not been asked for, so both paths must agree.
+ */
+public class GameStatusCacheTests {
+    private static final String[] POSITIONS = {
+            Fen.START_POSITION,
+            PerftTests.TACTICAL,
+            "7k/6Q1/6K1/8/8/8/8/8 b - - 0 1",
+            "k7/8/1Q6/8/8/8/8/7K b - - 0 1",
+            "4k3/8/8/8/8/8/8/4RK2 b - - 0 1"
+    };
+
+    @Test
+    @DisplayName("Status Matches Individual Checks")
+    public void statusMatchesIndividualChecks() {
+        for (String fen : POSITIONS) {
+            ChessGame.TeamColor turn = Fen.parse(fen).getTeamTurn();
+            ChessGame.GameStatus status = Fen.parse(fen).evaluateStatus(turn);
+            Assertions.assertEquals(Fen.parse(fen).isInCheckmate(turn), status == ChessGame.GameStatus.CHECKMATE, fen);
+            Assertions.assertEquals(Fen.parse(fen).isInStalemate(turn), status == ChessGame.GameStatus.STALEMATE, fen);
+            Assertions.assertEquals(Fen.parse(fen).isInCheck(turn),
+                    status == ChessGame.GameStatus.CHECK || status == ChessGame.GameStatus.CHECKMATE, fen);
+        }
+    }
+
+    @Test
+    @DisplayName("Status Matches Generated Moves")
+    public void statusMatchesGeneratedMoves() {
+        for (String fen : POSITIONS) {
+            ChessGame statusFirst = Fen.parse(fen);
+            ChessGame.TeamColor turn = statusFirst.getTeamTurn();
+            ChessGame.GameStatus status = statusFirst.evaluateStatus(turn);
+            boolean canMove = !statusFirst.allValidMoves(turn).isEmpty();
+            Assertions.assertEquals(canMove,
+                    status == ChessGame.GameStatus.NORMAL || status == ChessGame.GameStatus.CHECK, fen);
+
+            ChessGame movesFirst = Fen.parse(fen);
+            movesFirst.allValidMoves(turn);
+            Assertions.assertEquals(status, movesFirst.evaluateStatus(turn), fen);
+        }
+    }
+
+    @Test
+    @DisplayName("Expected Statuses")
+    public void expectedStatuses() {
+        Assertions.assertEquals(ChessGame.GameStatus.NORMAL, status(Fen.START_POSITION));
+        Assertions.assertEquals(ChessGame.GameStatus.CHECKMATE, status(POSITIONS[2]));
+        Assertions.assertEquals(ChessGame.GameStatus.STALEMATE, status(POSITIONS[3]));
+        Assertions.assertEquals(ChessGame.GameStatus.CHECK, status(POSITIONS[4]));
+    }
+
+    private static ChessGame.GameStatus status(String fen) {
+        ChessGame game = Fen.parse(fen);
+        return game.evaluateStatus(game.getTeamTurn());
+    }
+}
@@ -0,0 +1,45 @@
+package chess;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class MoveGeneratorTests {
+
+    @Test
+    @DisplayName("Has Legal Move Matches Generation")
+    public void hasLegalMoveMatchesGeneration() {
+        String[] positions = {
+                Fen.START_POSITION, PerftTests.PROMOTIONS, PerftTests.ROOK_ENDGAME, PerftTests.TACTICAL,
+                "7k/6Q1/6K1/8/8/8/8/8 b - - 0 1",
+                "k7/8/1Q6/8/8/8/8/7K b - - 0 1",
+                "4k3/4r3/8/8/8/8/3PPP2/3QKB2 w - - 0 1"
+        };
+        for (String fen : positions) {
+            ChessGame game = Fen.parse(fen);
+            long[] checked = new long[1];
+            compareTree(game.getBoard(), game.getTeamTurn(), 3, fen, checked);
+            Assertions.assertTrue(checked[0] > 0, fen);
+        }
+    }
+
+    /**
+     * Compares the two at every node of the move tree below a position
+     */
+    private static void compareTree(ChessBoard board, ChessGame.TeamColor turn, int depth, String fen,
+                                    long[] checked) {
+        MoveList moves = new MoveList();
+        MoveGenerator.legalMoves(board, turn, moves);
+        checked[0]++;
+        Assertions.assertEquals(moves.size() > 0, MoveGenerator.hasLegalMove(board, turn), fen);
+        if (depth == 0) {
+            return;
+        }
+        for (int i = 0; i < moves.size(); i++) {
+            int move = moves.get(i);
+            ChessPiece captured = board.makeMove(move);
+            compareTree(board, MoveGenerator.opponent(turn), depth - 1, fen, checked);
+            board.unmakeMove(move, captured);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package chess;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Node counts for the start position and the promotion position match the
+ * published perft tables. This engine has no castling or en passant, so the
+ * other positions use counts recorded from the original square-by-square
+ * move generator; they differ from published tables wherever those rules apply.
+ */
+public class PerftTests {
+    static final String PROMOTIONS = "n1n5/PPPk4/8/8/8/8/4Kppp/5N1N b - - 0 1";
+    static final String ROOK_ENDGAME = "8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1";
+    static final String TACTICAL = "r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w - - 0 1";
+
+    @Test
+    @DisplayName("Start Position")
+    public void startPosition() {
+        assertCounts(Fen.START_POSITION, 20, 400, 8902, 197281);
+    }
+
+    @Test
+    @DisplayName("Promotions")
+    public void promotions() {
+        assertCounts(PROMOTIONS, 24, 496, 9483, 182838);
+    }
+
+    @Test
+    @DisplayName("Rook Endgame")
+    public void rookEndgame() {
+        assertCounts(ROOK_ENDGAME, 14, 191, 2810, 43087);
+    }
+
+    @Test
+    @DisplayName("Tactical Middlegame")
+    public void tactical() {
+        assertCounts(TACTICAL, 6, 258, 9217);
+    }
+
+    @Test
+    @DisplayName("Divide Sums To Count")
+    public void divideSumsToCount() {
+        var perft = new Perft(Fen.parse(Fen.START_POSITION));
+        Map<ChessMove, Long> divide = perft.divide(3);
+        Assertions.assertEquals(20, divide.size(), "Wrong number of root moves");
+        Assertions.assertEquals(8902L, divide.values().stream().mapToLong(Long::longValue).sum(),
+                "Divide counts do not add up to the perft count");
+    }
+
+    @Test
+    @DisplayName("Perft Leaves Game Unchanged")
+    public void leavesGameUnchanged() {
+        var game = Fen.parse(TACTICAL);
+        var before = Fen.parse(TACTICAL);
+        new Perft(game).count(3);
+        Assertions.assertEquals(before, game, "Perft did not restore the game");
+        Assertions.assertEquals(before.getPositionKey(), game.getPositionKey(), "Perft did not restore the key");
+    }
+
+    @Test
+    @DisplayName("Parallel Count Matches")
+    public void parallelCount() {
+        var perft = new ParallelPerft(Fen.parse(TACTICAL), new ForkJoinPool(4));
+        try {
+            Assertions.assertEquals(404404L, perft.count(4), "Parallel perft gave a different count");
+        } finally {
+            perft.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Parallel Visit Reaches Every Position")
+    public void parallelVisit() {
+        var game = Fen.parse(Fen.START_POSITION);
+        var perft = new ParallelPerft(game, new ForkJoinPool(4));
+        var perPly = new AtomicLongArray(5);
+        try {
+            perft.visit(4, (board, turn, ply) -> perPly.incrementAndGet(ply));
+        } finally {
+            perft.shutdown();
+        }
+        long[] expected = {1, 20, 400, 8902, 197281};
+        for (int ply = 0; ply < expected.length; ply++) {
+            Assertions.assertEquals(expected[ply], perPly.get(ply), "Wrong number of positions at ply " + ply);
+        }
+        Assertions.assertEquals(Fen.parse(Fen.START_POSITION), game, "Visiting changed the game");
+    }
+
+    private static void assertCounts(String fen, long... expected) {
+        var perft = new Perft(Fen.parse(fen));
+        for (int depth = 1; depth <= expected.length; depth++) {
+            Assertions.assertEquals(expected[depth - 1], perft.count(depth), "Wrong node count at depth " + depth);
+        }
+    }
+}
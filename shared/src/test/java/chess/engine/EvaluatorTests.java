@@ -0,0 +1,89 @@
+package chess.engine;
+
+import chess.ChessGame;
+import chess.Fen;
+import chess.MoveGenerator;
+import chess.MoveList;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+public class EvaluatorTests {
+
+    @Test
+    @DisplayName("Start Position Is Even")
+    public void startPositionEven() {
+        var game = Fen.parse(Fen.START_POSITION);
+        Assertions.assertEquals(0, Evaluator.evaluate(game.getBoard(), ChessGame.TeamColor.WHITE));
+        Assertions.assertEquals(24, game.getBoard().getPhase(), "Start position is not full midgame");
+    }
+
+    @Test
+    @DisplayName("Mirrored Position Scores The Same For The Mover")
+    public void mirrored() {
+        var white = Fen.parse("4k3/pp3ppp/2n5/3q4/8/2N5/PPP2PPP/3QK3 w - - 0 1");
+        var black = Fen.parse("3qk3/ppp2ppp/2n5/8/3Q4/2N5/PP3PPP/4K3 b - - 0 1");
+        Assertions.assertEquals(Evaluator.evaluate(white.getBoard(), ChessGame.TeamColor.WHITE),
+                Evaluator.evaluate(black.getBoard(), ChessGame.TeamColor.BLACK));
+    }
+
+    @Test
+    @DisplayName("Incremental Scores Match A Fresh Board")
+    public void incrementalMatchesFresh() {
+        var game = Fen.parse("r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w - - 0 1");
+        var board = game.getBoard();
+        var turn = game.getTeamTurn();
+        var random = new Random(7);
+        for (int ply = 0; ply < 200; ply++) {
+            MoveList moves = new MoveList();
+            MoveGenerator.legalMoves(board, turn, moves);
+            if (moves.isEmpty()) {
+                break;
+            }
+            board.makeMove(moves.get(random.nextInt(moves.size())));
+            turn = turn == ChessGame.TeamColor.WHITE ? ChessGame.TeamColor.BLACK : ChessGame.TeamColor.WHITE;
+            game.setTeamTurn(turn);
+
+            var fresh = Fen.parse(Fen.toFen(game)).getBoard();
+            Assertions.assertEquals(fresh.getMidgameScore(), board.getMidgameScore(), "Midgame drifted at ply " + ply);
+            Assertions.assertEquals(fresh.getEndgameScore(), board.getEndgameScore(), "Endgame drifted at ply " + ply);
+            Assertions.assertEquals(fresh.getPhase(), board.getPhase(), "Phase drifted at ply " + ply);
+            Assertions.assertEquals(fresh.getPawnKey(), board.getPawnKey(), "Pawn key drifted at ply " + ply);
+        }
+    }
+
+    @Test
+    @DisplayName("Pawn Structure Terms")
+    public void pawnStructure() {
+        // white: doubled, isolated c-pawns, both passed; black: an isolated passed pawn one step from promoting
+        var game = Fen.parse("4k3/8/8/8/2P5/2P5/p7/4K3 w - - 0 1");
+        long packed = Evaluator.pawnStructure(game.getBoard());
+        int expectedMidgame = Evaluator.DOUBLED_MIDGAME + 2 * Evaluator.ISOLATED_MIDGAME
+                + Evaluator.PASSED_MIDGAME[3] + Evaluator.PASSED_MIDGAME[2]
+                - Evaluator.ISOLATED_MIDGAME - Evaluator.PASSED_MIDGAME[6];
+        int expectedEndgame = Evaluator.DOUBLED_ENDGAME + 2 * Evaluator.ISOLATED_ENDGAME
+                + Evaluator.PASSED_ENDGAME[3] + Evaluator.PASSED_ENDGAME[2]
+                - Evaluator.ISOLATED_ENDGAME - Evaluator.PASSED_ENDGAME[6];
+        Assertions.assertEquals(expectedMidgame, (int) (packed >> 32), "Wrong midgame pawn score");
+        Assertions.assertEquals(expectedEndgame, (int) packed, "Wrong endgame pawn score");
+    }
+
+    @Test
+    @DisplayName("Cached Evaluation Matches Uncached")
+    public void cachedMatchesUncached() {
+        var table = new PawnHashTable(64);
+        var game = Fen.parse("r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w - - 0 1");
+        var board = game.getBoard();
+        int expected = Evaluator.evaluate(board, ChessGame.TeamColor.WHITE);
+        Assertions.assertEquals(expected, Evaluator.evaluate(board, ChessGame.TeamColor.WHITE, table));
+        Assertions.assertEquals(expected, Evaluator.evaluate(board, ChessGame.TeamColor.WHITE, table));
+        Assertions.assertEquals(0.5, table.hitRate(), "Second evaluation did not hit the cache");
+
+        var noPawns = Fen.parse("4k3/8/8/8/8/8/8/4K3 w - - 0 1").getBoard();
+        Assertions.assertEquals(0, noPawns.getPawnKey());
+        Assertions.assertEquals(Evaluator.evaluate(noPawns, ChessGame.TeamColor.WHITE),
+                Evaluator.evaluate(noPawns, ChessGame.TeamColor.WHITE, table));
+    }
+}
@@ -0,0 +1,104 @@
+package chess.engine;
+
+import chess.ChessGame;
+import chess.ChessMove;
+import chess.ChessPosition;
+import chess.Fen;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class SearcherTests {
+
+    @Test
+    @DisplayName("Finds Mate In One")
+    public void mateInOne() {
+        var game = Fen.parse("6k1/5ppp/8/8/8/8/8/R5K1 w - - 0 1");
+        SearchResult result = new Searcher().search(game, SearchLimits.depth(4));
+        Assertions.assertEquals(new ChessMove(new ChessPosition(1, 1), new ChessPosition(8, 1), null),
+                result.bestMove(), "Did not play the back rank mate");
+        Assertions.assertTrue(result.isMate(), "Mate was not scored as a mate");
+        Assertions.assertTrue(result.score() > 0, "Mate was scored for the wrong side");
+    }
+
+    @Test
+    @DisplayName("Takes Hanging Queen")
+    public void takesHangingQueen() {
+        var game = Fen.parse("4k3/8/8/3q4/8/8/3R4/4K3 w - - 0 1");
+        SearchResult result = new Searcher().search(game, SearchLimits.depth(3));
+        Assertions.assertEquals(new ChessMove(new ChessPosition(2, 4), new ChessPosition(5, 4), null),
+                result.bestMove(), "Did not capture the undefended queen");
+    }
+
+    @Test
+    @DisplayName("Avoids Defended Capture")
+    public void avoidsDefendedCapture() {
+        var game = Fen.parse("4k3/2p5/3p4/8/8/8/3Q4/4K3 w - - 0 1");
+        SearchResult result = new Searcher().search(game, SearchLimits.depth(3));
+        Assertions.assertNotEquals(new ChessMove(new ChessPosition(2, 4), new ChessPosition(6, 4), null),
+                result.bestMove(), "Gave up the queen for a defended pawn");
+    }
+
+    @Test
+    @DisplayName("No Moves When Mated")
+    public void noMovesWhenMated() {
+        var game = Fen.parse("R5k1/5ppp/8/8/8/8/8/6K1 b - - 0 1");
+        SearchResult result = new Searcher().search(game, SearchLimits.depth(3));
+        Assertions.assertNull(result.bestMove(), "Returned a move in a checkmated position");
+        Assertions.assertEquals(-Searcher.MATE, result.score(), "Checkmate was not scored as lost");
+    }
+
+    @Test
+    @DisplayName("Node Limit Stops Search")
+    public void nodeLimit() {
+        var game = Fen.parse(Fen.START_POSITION);
+        SearchResult result = new Searcher().search(game, new SearchLimits(30, 20_000, 0));
+        Assertions.assertNotNull(result.bestMove(), "No move after the first iteration");
+        Assertions.assertTrue(result.depth() < 30, "Search ignored the node limit");
+        Assertions.assertTrue(game.validMoves(result.bestMove().getStartPosition()).contains(result.bestMove()),
+                "Best move is not valid");
+        Assertions.assertEquals(Fen.parse(Fen.START_POSITION), game, "Search changed the game");
+    }
+
+    @Test
+    @DisplayName("Parallel Search Finds Mate")
+    public void parallelMate() {
+        var game = Fen.parse("6k1/5ppp/8/8/8/8/8/R5K1 w - - 0 1");
+        try (var searcher = new ParallelSearcher(3, new TranspositionTable(1))) {
+            SearchResult result = searcher.search(game, SearchLimits.depth(5));
+            Assertions.assertEquals(new ChessMove(new ChessPosition(1, 1), new ChessPosition(8, 1), null),
+                    result.bestMove(), "Did not play the back rank mate");
+            Assertions.assertTrue(result.isMate(), "Mate was not scored as a mate");
+        }
+        Assertions.assertEquals(Fen.parse("6k1/5ppp/8/8/8/8/8/R5K1 w - - 0 1"), game, "Search changed the game");
+    }
+
+    @Test
+    @DisplayName("Parallel Search Returns Valid Move")
+    public void parallelValidMove() {
+        var game = Fen.parse("r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w - - 0 1");
+        try (var searcher = new ParallelSearcher(4, new TranspositionTable(4))) {
+            for (int i = 0; i < 3; i++) {
+                SearchResult result = searcher.search(game, SearchLimits.depth(4));
+                Assertions.assertEquals(4, result.depth(), "Main thread did not finish the requested depth");
+                Assertions.assertTrue(game.validMoves(result.bestMove().getStartPosition())
+                        .contains(result.bestMove()), "Best move is not valid");
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Interrupted Parallel Search Cancels Helpers")
+    public void parallelInterrupted() {
+        var game = Fen.parse("r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w - - 0 1");
+        try (var searcher = new ParallelSearcher(3, new TranspositionTable(1))) {
+            Thread.currentThread().interrupt();
+            SearchResult interrupted = searcher.search(game, SearchLimits.depth(3));
+            Assertions.assertTrue(Thread.interrupted(), "Interrupt was swallowed");
+            Assertions.assertNotNull(interrupted.bestMove(), "Main thread result was lost");
+
+            SearchResult next = searcher.search(game, SearchLimits.depth(3));
+            Assertions.assertEquals(3, next.depth(), "Searcher was unusable after an interrupt");
+        }
+    }
+}
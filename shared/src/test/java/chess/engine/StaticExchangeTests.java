@@ -0,0 +1,55 @@
+package chess.engine;
+
+import chess.ChessMove;
+import chess.ChessPiece;
+import chess.ChessPosition;
+import chess.Fen;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class StaticExchangeTests {
+
+    @Test
+    @DisplayName("Undefended Piece")
+    public void undefended() {
+        var board = Fen.parse("4k3/8/8/3r4/8/8/3R4/4K3 w - - 0 1").getBoard();
+        Assertions.assertEquals(Evaluator.value(ChessPiece.PieceType.ROOK),
+                StaticExchange.evaluate(board, move(2, 4, 5, 4)));
+    }
+
+    @Test
+    @DisplayName("Defended Pawn Loses The Queen")
+    public void defendedPawn() {
+        var board = Fen.parse("4k3/2p5/3p4/8/8/8/3Q4/4K3 w - - 0 1").getBoard();
+        Assertions.assertEquals(Evaluator.value(ChessPiece.PieceType.PAWN) - Evaluator.value(ChessPiece.PieceType.QUEEN),
+                StaticExchange.evaluate(board, move(2, 4, 6, 4)));
+    }
+
+    @Test
+    @DisplayName("X-Ray Rook Behind Rook")
+    public void xray() {
+        // white wins the knight: RxN, RxR, RxR, with the second white rook behind the first
+        var board = Fen.parse("3rk3/8/8/3n4/8/8/3R4/3RK3 w - - 0 1").getBoard();
+        Assertions.assertEquals(Evaluator.value(ChessPiece.PieceType.KNIGHT),
+                StaticExchange.evaluate(board, move(2, 4, 5, 4)));
+
+        // without the second rook the exchange is a knight for a rook
+        var single = Fen.parse("3rk3/8/8/3n4/8/8/3R4/4K3 w - - 0 1").getBoard();
+        Assertions.assertEquals(Evaluator.value(ChessPiece.PieceType.KNIGHT) - Evaluator.value(ChessPiece.PieceType.ROOK),
+                StaticExchange.evaluate(single, move(2, 4, 5, 4)));
+    }
+
+    @Test
+    @DisplayName("King Cannot Recapture Defended Square")
+    public void kingRecapture() {
+        // black's king is the only defender, but white's bishop still covers the square
+        var board = Fen.parse("8/8/3k4/4p3/8/2B5/8/4RK2 w - - 0 1").getBoard();
+        Assertions.assertEquals(Evaluator.value(ChessPiece.PieceType.PAWN),
+                StaticExchange.evaluate(board, move(1, 5, 5, 5)));
+    }
+
+    private static ChessMove move(int fromRow, int fromColumn, int toRow, int toColumn) {
+        return new ChessMove(new ChessPosition(fromRow, fromColumn), new ChessPosition(toRow, toColumn), null);
+    }
+}
@@ -0,0 +1,53 @@
+package chess.engine;
+
+import chess.PackedMove;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class TranspositionTableTests {
+
+    @Test
+    @DisplayName("Stored Entry Reads Back")
+    public void storeAndProbe() {
+        var table = new TranspositionTable(1);
+        int move = PackedMove.of(12, 28);
+        table.store(0x1234_5678_9ABC_DEF0L, move, -250, 7, TranspositionTable.LOWER);
+
+        long data = table.probe(0x1234_5678_9ABC_DEF0L);
+        Assertions.assertNotEquals(0, data, "Stored position was not found");
+        Assertions.assertEquals(move, TranspositionTable.move(data));
+        Assertions.assertEquals(-250, TranspositionTable.score(data));
+        Assertions.assertEquals(7, TranspositionTable.depth(data));
+        Assertions.assertEquals(TranspositionTable.LOWER, TranspositionTable.bound(data));
+        Assertions.assertEquals(0, table.probe(0x1234_5678_9ABC_DEF1L), "Different key read another entry");
+    }
+
+    @Test
+    @DisplayName("Older Entries Are Replaced First")
+    public void replacement() {
+        var table = new TranspositionTable(1);
+        long buckets = table.capacity() / 2;
+        long first = 5;
+        long second = first + buckets;
+        long third = second + buckets;
+        table.store(first, PackedMove.NONE, 0, 20, TranspositionTable.EXACT);
+        table.newSearch();
+        table.store(second, PackedMove.NONE, 0, 1, TranspositionTable.EXACT);
+        table.store(third, PackedMove.NONE, 0, 2, TranspositionTable.EXACT);
+
+        Assertions.assertEquals(0, table.probe(first), "Deep entry from an old search was kept");
+        Assertions.assertNotEquals(0, table.probe(second), "Entry from the current search was replaced");
+        Assertions.assertNotEquals(0, table.probe(third), "New entry was not stored");
+    }
+
+    @Test
+    @DisplayName("Mate Scores Are Stored Relative To Ply")
+    public void mateScores() {
+        int mateFromRoot = Searcher.MATE - 9;
+        int stored = TranspositionTable.scoreToTable(mateFromRoot, 4);
+        Assertions.assertEquals(mateFromRoot + 2, TranspositionTable.scoreFromTable(stored, 2),
+                "Mate distance was not re-based to the probing ply");
+        Assertions.assertEquals(35, TranspositionTable.scoreFromTable(TranspositionTable.scoreToTable(35, 4), 2));
+    }
+}